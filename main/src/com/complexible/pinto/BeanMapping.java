@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.util.List;
+
+/**
+ * <p>A precompiled mapping for a bean class.  When {@link RDFMapper} first sees a class it looks for a class named
+ * after the bean's binary name plus {@link #SUFFIX}, loaded from the bean's class loader.  If one is found, the
+ * properties, accessors and constructor it provides are used instead of introspecting the bean.</p>
+ *
+ * <p>Mappings are normally generated at compile time by the {@code pinto-processor} annotation processor for classes
+ * annotated with {@link com.complexible.pinto.annotations.RdfsClass}, but they can also be written by hand.
+ * Implementations must have a public no-argument constructor.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+public interface BeanMapping<T> {
+
+	/**
+	 * The suffix appended to the binary name of a bean class to get the name of its mapping
+	 */
+	public static final String SUFFIX = "_PintoMapping";
+
+	/**
+	 * Return the class of the bean
+	 *
+	 * @return  the bean class
+	 */
+	public Class<T> beanClass();
+
+	/**
+	 * Create a new, empty, instance of the bean
+	 *
+	 * @return  the new instance
+	 *
+	 * @throws RDFMappingException if the bean cannot be created
+	 */
+	public T newInstance();
+
+	/**
+	 * Return the properties of the bean, in the same form that bean introspection would provide them
+	 *
+	 * @return  the properties
+	 *
+	 * @throws IntrospectionException   if a property descriptor cannot be created
+	 * @throws NoSuchMethodException    if the accessor methods of a property no longer exist on the bean
+	 */
+	public List<PropertyDescriptor> properties() throws IntrospectionException, NoSuchMethodException;
+
+	/**
+	 * Return the accessor for the given property
+	 *
+	 * @param theProperty   the name of the property
+	 * @return              the accessor, or null if the property is not known to this mapping
+	 */
+	public PropertyAccessor accessor(final String theProperty);
+
+	/**
+	 * Return the names of the properties annotated with {@link com.complexible.pinto.annotations.RdfId}, in their
+	 * natural order
+	 *
+	 * @return  the id properties
+	 */
+	public List<String> ids();
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.complexible.common.openrdf.model.Models2;
+import com.google.common.collect.Lists;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.vocabulary.RDF;
+import org.openrdf.rio.RDFHandlerException;
+import org.openrdf.rio.helpers.AbstractRDFHandler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * <p>{@link org.openrdf.rio.RDFHandler} which maps the RDF it is given into beans as it is parsed, without collecting
+ * the whole input in a {@link Model}.  The input must be grouped by subject, such as N-Triples written one object at
+ * a time.  The instances of the bean's {@code rdf:type} start a new record, and the subjects which follow an instance,
+ * up to the next instance, are its nested objects.  Each bean is handed to the consumer as soon as its record is
+ * complete, so only one record is ever kept in memory.</p>
+ *
+ * <p>An object shared by several instances is written only with the first of them, so the statements of the nested
+ * objects of every record are kept, and a record which refers to an object that is not part of it is read with the
+ * description of that object from an earlier record.  Memory use therefore also grows with the nested objects of the
+ * input, though not with its instances.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see RDFMapper#reader(Class, Consumer)
+ */
+final class BeanRDFHandler<T> extends AbstractRDFHandler {
+
+	private final IRI mType;
+
+	private final BiFunction<Model, Resource, T> mDecoder;
+
+	private final Consumer<? super T> mConsumer;
+
+	/**
+	 * The statements of the current subject
+	 */
+	private final List<Statement> mBlock = Lists.newArrayList();
+
+	private Resource mSubject;
+
+	private boolean mBlockIsInstance;
+
+	/**
+	 * The statements of the current record; the instance being read and its nested objects
+	 */
+	private Model mRecord = Models2.newModel();
+
+	private Resource mInstance;
+
+	/**
+	 * The statements of the nested objects of all the records read so far
+	 */
+	private Model mNested = Models2.newModel();
+
+	BeanRDFHandler(final IRI theType, final BiFunction<Model, Resource, T> theDecoder, final Consumer<? super T> theConsumer) {
+		mType = theType;
+		mDecoder = theDecoder;
+		mConsumer = theConsumer;
+	}
+
+	@Override
+	public void startRDF() throws RDFHandlerException {
+		mBlock.clear();
+		mSubject = null;
+		mBlockIsInstance = false;
+		mRecord = Models2.newModel();
+		mInstance = null;
+		mNested = Models2.newModel();
+	}
+
+	@Override
+	public void handleStatement(final Statement theStatement) throws RDFHandlerException {
+		if (!theStatement.getSubject().equals(mSubject)) {
+			closeBlock();
+			mSubject = theStatement.getSubject();
+		}
+
+		mBlock.add(theStatement);
+
+		if (RDF.TYPE.equals(theStatement.getPredicate()) && mType.equals(theStatement.getObject())) {
+			mBlockIsInstance = true;
+		}
+	}
+
+	@Override
+	public void endRDF() throws RDFHandlerException {
+		closeBlock();
+		emit();
+	}
+
+	private void closeBlock() throws RDFHandlerException {
+		if (mBlock.isEmpty()) {
+			return;
+		}
+
+		if (mBlockIsInstance) {
+			emit();
+			mInstance = mSubject;
+		}
+		else {
+			mNested.addAll(mBlock);
+		}
+
+		// subjects seen before the first instance are kept and treated as part of its record
+		mRecord.addAll(mBlock);
+
+		mBlock.clear();
+		mBlockIsInstance = false;
+	}
+
+	private void emit() throws RDFHandlerException {
+		if (mInstance == null) {
+			return;
+		}
+
+		resolve(mRecord);
+
+		try {
+			mConsumer.accept(mDecoder.apply(mRecord, mInstance));
+		}
+		catch (RDFMappingException e) {
+			throw new RDFHandlerException(e);
+		}
+
+		mRecord = Models2.newModel();
+		mInstance = null;
+	}
+
+	/**
+	 * Add the descriptions of the objects the record refers to which were written as part of an earlier record
+	 */
+	private void resolve(final Model theRecord) {
+		final Deque<Value> aReferences = new ArrayDeque<>(theRecord.objects());
+
+		Value aValue;
+
+		while ((aValue = aReferences.poll()) != null) {
+			if (!(aValue instanceof Resource) || theRecord.contains((Resource) aValue, null, null)) {
+				continue;
+			}
+
+			final Model aDescription = mNested.filter((Resource) aValue, null, null);
+
+			theRecord.addAll(aDescription);
+			aReferences.addAll(aDescription.objects());
+		}
+	}
+}
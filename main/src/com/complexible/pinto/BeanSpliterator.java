@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.Resource;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * <p>A {@link Spliterator} over the beans read from a list of resources.  Splitting partitions the resources, and
+ * every part shares the same read-only {@link ModelIndex index} of the graph, so the beans can be read in parallel
+ * without indexing the graph more than once.</p>
+ *
+ * <p>Each part reads with its own {@link ReadContext}.  A resource referenced from the beans of more than one part is
+ * therefore read once per part, rather than once overall, which is what keeps the parts independent of each
+ * other.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class BeanSpliterator<T> implements Spliterator<T> {
+
+	private final ModelIndex mIndex;
+
+	private final List<Resource> mResources;
+
+	private final BiFunction<ReadContext, Resource, T> mReader;
+
+	private int mOrigin;
+
+	private final int mFence;
+
+	/**
+	 * Created on first use so that the context belongs to the thread reading this part
+	 */
+	private ReadContext mContext;
+
+	BeanSpliterator(final ModelIndex theIndex, final List<Resource> theResources,
+	                final BiFunction<ReadContext, Resource, T> theReader) {
+		this(theIndex, theResources, theReader, 0, theResources.size());
+	}
+
+	private BeanSpliterator(final ModelIndex theIndex, final List<Resource> theResources,
+	                        final BiFunction<ReadContext, Resource, T> theReader, final int theOrigin, final int theFence) {
+		mIndex = theIndex;
+		mResources = theResources;
+		mReader = theReader;
+		mOrigin = theOrigin;
+		mFence = theFence;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean tryAdvance(final Consumer<? super T> theAction) {
+		if (mOrigin >= mFence) {
+			return false;
+		}
+
+		theAction.accept(mReader.apply(context(), mResources.get(mOrigin++)));
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEachRemaining(final Consumer<? super T> theAction) {
+		final ReadContext aContext = context();
+
+		while (mOrigin < mFence) {
+			theAction.accept(mReader.apply(aContext, mResources.get(mOrigin++)));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<T> trySplit() {
+		final int aMid = (mOrigin + mFence) >>> 1;
+
+		if (aMid <= mOrigin) {
+			return null;
+		}
+
+		final Spliterator<T> aPrefix = new BeanSpliterator<>(mIndex, mResources, mReader, mOrigin, aMid);
+
+		mOrigin = aMid;
+
+		return aPrefix;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long estimateSize() {
+		return mFence - mOrigin;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int characteristics() {
+		// the instances come from the type index, which has no order, so none is reported
+		return SIZED | SUBSIZED | IMMUTABLE;
+	}
+
+	private ReadContext context() {
+		if (mContext == null) {
+			mContext = new ReadContext(mIndex);
+		}
+
+		return mContext;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.collect.ImmutableList;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>The compiled mapping of a bean class.  Created once per class by {@link RDFMapper} and re-used for every
+ * subsequent read or write of an instance of that class.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class ClassPlan {
+
+	private final Class<?> mClass;
+
+	private final IRI mType;
+
+	private final ImmutableList<PropertyPlan> mProperties;
+
+	private final BeanMapping<?> mMapping;
+
+	private final ImmutableList<PropertyAccessor> mIds;
+
+	private final Function<Object, Resource> mIdFunction;
+
+	ClassPlan(final Class<?> theClass, final IRI theType, final List<PropertyPlan> theProperties,
+	          final BeanMapping<?> theMapping, final List<PropertyAccessor> theIds,
+	          final Function<Object, Resource> theIdFunction) {
+		mClass = theClass;
+		mType = theType;
+		mProperties = ImmutableList.copyOf(theProperties);
+		mMapping = theMapping;
+		mIds = ImmutableList.copyOf(theIds);
+		mIdFunction = theIdFunction;
+	}
+
+	public Class<?> beanClass() {
+		return mClass;
+	}
+
+	/**
+	 * Return the {@code rdf:type} of instances of the class
+	 *
+	 * @return  the type, or null if the class is not mapped to a type
+	 */
+	public IRI type() {
+		return mType;
+	}
+
+	/**
+	 * Return the mapped properties of the class.  Ignored properties, and those whose annotation is invalid, are
+	 * not included.
+	 *
+	 * @return  the properties
+	 */
+	public List<PropertyPlan> properties() {
+		return mProperties;
+	}
+
+	/**
+	 * Return the precompiled {@link BeanMapping mapping} the plan was created from
+	 *
+	 * @return  the mapping, or null if the plan was created by introspecting the class
+	 */
+	public BeanMapping<?> mapping() {
+		return mMapping;
+	}
+
+	/**
+	 * Return the accessors of the {@link com.complexible.pinto.annotations.RdfId} properties of the class, in the order
+	 * of the names of the properties, which is the order their values are hashed to create an rdf:ID
+	 *
+	 * @return  the id properties
+	 */
+	public List<PropertyAccessor> ids() {
+		return mIds;
+	}
+
+	/**
+	 * Return the function the mapper was given for creating the rdf:ID of instances of the class
+	 *
+	 * @return  the function, or null if there is none
+	 */
+	public Function<Object, Resource> idFunction() {
+		return mIdFunction;
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.complexible.common.base.Dates;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * <p>Conversion between {@link Date} and the lexical forms of {@code xsd:dateTime} and {@code xsd:date}.</p>
+ *
+ * <p>The canonical forms written by the mapper are parsed directly from the characters of the literal without
+ * creating a formatter or throwing and catching an exception for every value.  Anything that does not look like one of
+ * those forms is handed to {@link Dates#asDate(String)} which knows about a much wider, but slower, range of
+ * formats.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+// todo: move to commons-utils
+final class Dates2 {
+
+	/**
+	 * The format used when writing a {@code Date}.  {@code DateTimeFormatter} is immutable and thread-safe so a single
+	 * instance is shared; the time zone is applied per value since the default zone can change at runtime.
+	 */
+	private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+	private Dates2() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Parse the lexical form of an {@code xsd:dateTime}
+	 *
+	 * @param theDate   the date
+	 * @return          the parsed date
+	 */
+	public static Date asDate(final String theDate) {
+		final Date aDate = parseDateTime(theDate);
+
+		return aDate != null ? aDate : Dates.asDate(theDate);
+	}
+
+	/**
+	 * Parse the lexical form of an {@code xsd:date}.  The result is the start of the day in the date's time zone, or
+	 * the default time zone if the date does not specify one.
+	 *
+	 * @param theDate   the date
+	 * @return          the parsed date
+	 */
+	public static Date asDay(final String theDate) {
+		final Date aDate = parseDate(theDate);
+
+		return aDate != null ? aDate : Dates.asDate(theDate);
+	}
+
+	/**
+	 * Return the {@code xsd:dateTime} lexical form of the date in the default time zone
+	 *
+	 * @param theDate   the date
+	 * @return          the date as a string
+	 */
+	public static String datetimeISO(final Date theDate) {
+		return DATETIME_FORMAT.format(theDate.toInstant().atZone(ZoneId.systemDefault()));
+	}
+
+	/**
+	 * Parse {@code yyyy-MM-dd'T'HH:mm:ss[.S+][zone]}
+	 *
+	 * @param theDate   the date
+	 * @return          the date, or null if the string is not of that form
+	 */
+	static Date parseDateTime(final String theDate) {
+		final int aLength = theDate.length();
+
+		if (aLength < 19
+		    || !isDate(theDate)
+		    || theDate.charAt(10) != 'T'
+		    || !isDigits(theDate, 11, 13) || theDate.charAt(13) != ':'
+		    || !isDigits(theDate, 14, 16) || theDate.charAt(16) != ':'
+		    || !isDigits(theDate, 17, 19)) {
+			return null;
+		}
+
+		int aPos = 19;
+		int aNanos = 0;
+
+		if (aPos < aLength && theDate.charAt(aPos) == '.') {
+			final int aStart = ++aPos;
+
+			while (aPos < aLength && isDigit(theDate.charAt(aPos))) {
+				if (aPos - aStart < 9) {
+					aNanos = aNanos * 10 + (theDate.charAt(aPos) - '0');
+				}
+				aPos++;
+			}
+
+			if (aPos == aStart) {
+				return null;
+			}
+
+			for (int i = aPos - aStart; i < 9; i++) {
+				aNanos *= 10;
+			}
+		}
+
+		final ZoneId aZone = zone(theDate, aPos);
+
+		if (aZone == null) {
+			return null;
+		}
+
+		try {
+			final LocalDateTime aDateTime = LocalDateTime.of(number(theDate, 0, 4), number(theDate, 5, 7), number(theDate, 8, 10),
+			                                                 number(theDate, 11, 13), number(theDate, 14, 16), number(theDate, 17, 19),
+			                                                 aNanos);
+
+			return Date.from(aDateTime.atZone(aZone).toInstant());
+		}
+		catch (DateTimeException e) {
+			// out of range fields, such as 24:00:00, let the lenient parser deal with it
+			return null;
+		}
+	}
+
+	/**
+	 * Parse {@code yyyy-MM-dd[zone]}
+	 *
+	 * @param theDate   the date
+	 * @return          the date, or null if the string is not of that form
+	 */
+	static Date parseDate(final String theDate) {
+		if (theDate.length() < 10 || !isDate(theDate)) {
+			return null;
+		}
+
+		final ZoneId aZone = zone(theDate, 10);
+
+		if (aZone == null) {
+			return null;
+		}
+
+		try {
+			final LocalDate aDate = LocalDate.of(number(theDate, 0, 4), number(theDate, 5, 7), number(theDate, 8, 10));
+
+			return Date.from(aDate.atStartOfDay(aZone).toInstant());
+		}
+		catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Return whether the string starts with {@code yyyy-MM-dd}
+	 */
+	private static boolean isDate(final String theDate) {
+		return isDigits(theDate, 0, 4) && theDate.charAt(4) == '-'
+		       && isDigits(theDate, 5, 7) && theDate.charAt(7) == '-'
+		       && isDigits(theDate, 8, 10);
+	}
+
+	/**
+	 * Read the time zone which makes up the remainder of the string starting at the given position: nothing, {@code Z},
+	 * or {@code (+|-)HH:mm}.
+	 *
+	 * @return  the zone, or null if the remainder of the string is not a time zone
+	 */
+	private static ZoneId zone(final String theDate, final int theStart) {
+		final int aRemaining = theDate.length() - theStart;
+
+		if (aRemaining == 0) {
+			return ZoneId.systemDefault();
+		}
+		else if (aRemaining == 1 && theDate.charAt(theStart) == 'Z') {
+			return ZoneOffset.UTC;
+		}
+		else if (aRemaining == 6
+		         && (theDate.charAt(theStart) == '+' || theDate.charAt(theStart) == '-')
+		         && isDigits(theDate, theStart + 1, theStart + 3)
+		         && theDate.charAt(theStart + 3) == ':'
+		         && isDigits(theDate, theStart + 4, theStart + 6)) {
+			final int aSign = theDate.charAt(theStart) == '-' ? -1 : 1;
+
+			try {
+				return ZoneOffset.ofHoursMinutes(aSign * number(theDate, theStart + 1, theStart + 3),
+				                                 aSign * number(theDate, theStart + 4, theStart + 6));
+			}
+			catch (DateTimeException e) {
+				return null;
+			}
+		}
+		else {
+			return null;
+		}
+	}
+
+	private static boolean isDigits(final String theStr, final int theStart, final int theEnd) {
+		for (int i = theStart; i < theEnd; i++) {
+			if (!isDigit(theStr.charAt(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isDigit(final char theChar) {
+		return theChar >= '0' && theChar <= '9';
+	}
+
+	private static int number(final String theStr, final int theStart, final int theEnd) {
+		int aValue = 0;
+
+		for (int i = theStart; i < theEnd; i++) {
+			aValue = aValue * 10 + (theStr.charAt(i) - '0');
+		}
+
+		return aValue;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.complexible.pinto.annotations.Iri;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>The mapping between the constants of an enum and their IRIs.  Each constant is mapped to the IRI in its
+ * {@link Iri} annotation, or to its name in the mapper's default namespace when it has none.  The table is built once
+ * per enum class so that neither reading nor writing an enum value has to look at the annotations of the enum.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class EnumTable<E extends Enum<E>> {
+
+	private final Class<E> mClass;
+
+	private final Function<String, IRI> mResolver;
+
+	/**
+	 * The IRI of every constant whose IRI could be created.  A constant whose annotation is invalid, but ignored, maps
+	 * to null.
+	 */
+	private final EnumMap<E, IRI> mIris;
+
+	/**
+	 * The constants whose annotation could not be turned into an IRI, and their annotation values
+	 */
+	private final Map<E, String> mUnresolved;
+
+	private final ImmutableMap<String, E> mNames;
+
+	private final ImmutableMap<IRI, E> mConstants;
+
+	private EnumTable(final Class<E> theClass, final ValueFactory theFactory, final String theNamespace,
+	                  final Function<String, IRI> theResolver) {
+		mClass = theClass;
+		mResolver = theResolver;
+		mIris = new EnumMap<>(theClass);
+		mUnresolved = new EnumMap<>(theClass);
+
+		final Map<String, E> aNames = Maps.newHashMap();
+		final Map<IRI, E> aConstants = Maps.newHashMap();
+
+		for (E aConstant : theClass.getEnumConstants()) {
+			aNames.put(aConstant.name(), aConstant);
+
+			final Iri aAnnotation;
+
+			try {
+				aAnnotation = theClass.getField(aConstant.name()).getAnnotation(Iri.class);
+			}
+			catch (NoSuchFieldException e) {
+				throw new AssertionError();
+			}
+
+			if (aAnnotation == null) {
+				mIris.put(aConstant, theFactory.createIRI(theNamespace, aConstant.name()));
+				continue;
+			}
+
+			try {
+				final IRI aIRI = theResolver.apply(aAnnotation.value());
+
+				mIris.put(aConstant, aIRI);
+
+				if (aIRI != null) {
+					aConstants.putIfAbsent(aIRI, aConstant);
+				}
+			}
+			catch (RDFMappingException e) {
+				// the annotation is invalid; that's only an error if this constant is actually written
+				mUnresolved.put(aConstant, aAnnotation.value());
+			}
+		}
+
+		mNames = ImmutableMap.copyOf(aNames);
+		mConstants = ImmutableMap.copyOf(aConstants);
+	}
+
+	/**
+	 * Create the table for the given enum
+	 *
+	 * @param theClass      the enum class
+	 * @param theFactory    the factory used to create IRIs for constants without an {@link Iri} annotation
+	 * @param theNamespace  the namespace for constants without an {@link Iri} annotation
+	 * @param theResolver   the function which turns the value of an {@link Iri} annotation into an IRI
+	 * @return              the table
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static EnumTable<?> of(final Class<?> theClass, final ValueFactory theFactory, final String theNamespace,
+	                       final Function<String, IRI> theResolver) {
+		return new EnumTable(theClass, theFactory, theNamespace, theResolver);
+	}
+
+	public Class<E> enumClass() {
+		return mClass;
+	}
+
+	/**
+	 * Return the IRI of the given constant
+	 *
+	 * @param theConstant   the constant, which must be one of the constants of this enum
+	 * @return              the IRI, or null if the constant has an invalid {@link Iri} annotation which was ignored
+	 *
+	 * @throws RDFMappingException if the constant has an invalid {@link Iri} annotation
+	 */
+	public IRI iri(final Enum<?> theConstant) {
+		final String aUnresolved = mUnresolved.get(theConstant);
+
+		if (aUnresolved != null) {
+			return mResolver.apply(aUnresolved);
+		}
+
+		return mIris.get(theConstant);
+	}
+
+	/**
+	 * Return the constant for the given value.  A constant whose name is the local name of the IRI is preferred over one
+	 * whose {@link Iri} annotation is the IRI.
+	 *
+	 * @param theValue  the value
+	 * @return          the constant, or null if the value does not correspond to any of the constants
+	 */
+	public E valueOf(final Value theValue) {
+		if (!(theValue instanceof IRI)) {
+			return null;
+		}
+
+		final E aConstant = mNames.get(((IRI) theValue).getLocalName());
+
+		return aConstant != null ? aConstant : mConstants.get(theValue);
+	}
+
+	/**
+	 * Return a new, empty, set for the constants of this enum
+	 *
+	 * @return  the set
+	 */
+	public EnumSet<E> newSet() {
+		return EnumSet.noneOf(mClass);
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * <p>Resolution of the type arguments of generic bean properties, such as the element type of a {@code Collection} or
+ * the key and value types of a {@code Map}, using only the public {@code java.lang.reflect} API.  Type arguments are
+ * followed through the supertypes of the declared type, so a property declared as a subclass which binds the type
+ * arguments of the collection resolves the same as one declared with the type arguments directly.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class GenericTypes {
+
+	private GenericTypes() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Return the generic type of the property, taken from the parameter of its setter, or the return type of its
+	 * getter when it has no setter.
+	 *
+	 * @param theDescriptor the property
+	 * @return              the type
+	 */
+	public static Type propertyType(final PropertyDescriptor theDescriptor) {
+		if (theDescriptor.getWriteMethod() != null && theDescriptor.getWriteMethod().getGenericParameterTypes().length > 0) {
+			return theDescriptor.getWriteMethod().getGenericParameterTypes()[0];
+		}
+		else if (theDescriptor.getReadMethod() != null) {
+			return theDescriptor.getReadMethod().getGenericReturnType();
+		}
+		else {
+			return theDescriptor.getPropertyType();
+		}
+	}
+
+	/**
+	 * Return the argument for the type parameter at the given index of the target class as seen from the given type,
+	 * e.g. the element type of a {@code Collection} with an index of {@code 0}, or the value type of a {@code Map} with an
+	 * index of {@code 1}.
+	 *
+	 * @param theType   the type
+	 * @param theTarget the generic class, which must be a supertype of the type
+	 * @param theIndex  the index of the type parameter of the target
+	 * @return          the type argument, or null if it cannot be determined, such as when a raw type is used
+	 */
+	public static Type typeArgument(final Type theType, final Class<?> theTarget, final int theIndex) {
+		final Class<?> aRaw = rawClass(theType);
+
+		if (aRaw == null || !theTarget.isAssignableFrom(aRaw)) {
+			return null;
+		}
+
+		if (aRaw == theTarget) {
+			return theType instanceof ParameterizedType
+			       ? ((ParameterizedType) theType).getActualTypeArguments()[theIndex]
+			       : null;
+		}
+
+		final Type aSuperclass = aRaw.getGenericSuperclass();
+		Type aArg = aSuperclass != null ? typeArgument(aSuperclass, theTarget, theIndex) : null;
+
+		if (aArg == null) {
+			for (Type aInterface : aRaw.getGenericInterfaces()) {
+				aArg = typeArgument(aInterface, theTarget, theIndex);
+
+				if (aArg != null) {
+					break;
+				}
+			}
+		}
+
+		// the supertype was parameterized by a variable of the raw class, substitute it with the argument given for it,
+		// which there is none of when the class is used as a raw type
+		if (aArg instanceof TypeVariable && ((TypeVariable<?>) aArg).getGenericDeclaration() == aRaw) {
+			if (!(theType instanceof ParameterizedType)) {
+				return null;
+			}
+
+			final TypeVariable<?>[] aParams = aRaw.getTypeParameters();
+
+			for (int i = 0; i < aParams.length; i++) {
+				if (aParams[i].equals(aArg)) {
+					return ((ParameterizedType) theType).getActualTypeArguments()[i];
+				}
+			}
+		}
+
+		return aArg;
+	}
+
+	/**
+	 * Return the class which best represents the type.  A wildcard is represented by its lower bound when it has one,
+	 * {@code ? super Foo}, otherwise by its upper bound, and a type variable by its first bound.
+	 *
+	 * @param theType   the type
+	 * @return          the class, or null if the type is null
+	 */
+	public static Class<?> rawClass(final Type theType) {
+		if (theType instanceof Class) {
+			return (Class<?>) theType;
+		}
+		else if (theType instanceof ParameterizedType) {
+			return rawClass(((ParameterizedType) theType).getRawType());
+		}
+		else if (theType instanceof WildcardType) {
+			final WildcardType aWildcard = (WildcardType) theType;
+
+			return aWildcard.getLowerBounds().length > 0
+			       ? rawClass(aWildcard.getLowerBounds()[0])
+			       : rawClass(aWildcard.getUpperBounds()[0]);
+		}
+		else if (theType instanceof TypeVariable) {
+			return rawClass(((TypeVariable<?>) theType).getBounds()[0]);
+		}
+		else if (theType instanceof GenericArrayType) {
+			final Class<?> aComponent = rawClass(((GenericArrayType) theType).getGenericComponentType());
+
+			return aComponent == null ? null : Array.newInstance(aComponent, 0).getClass();
+		}
+		else {
+			return null;
+		}
+	}
+}
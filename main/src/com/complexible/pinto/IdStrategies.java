@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Value;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>The {@link IdStrategy strategies} included with Pinto for creating the rdf:ID of objects which do not have one of
+ * their own.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see RDFMapper.Builder#idStrategy(IdStrategy)
+ */
+public final class IdStrategies {
+
+	private IdStrategies() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Hash the {@code toString()} of the object.  This is the default strategy of the mapper, using the
+	 * {@link MappingOptions#ID_HASH id hash}.  Equal objects get the same rdf:ID as long as {@code toString()} is
+	 * consistent with {@code equals}, but the entire string is built for every object written.
+	 *
+	 * @param theHash   the hash function
+	 * @return          the strategy
+	 */
+	public static IdStrategy toStringHash(final HashFunction theHash) {
+		Preconditions.checkNotNull(theHash);
+
+		return (theObject, theContext) -> theContext.valueFactory().createIRI(theContext.namespace() + theHash.hashString(theObject.toString(), Charsets.UTF_8));
+	}
+
+	/**
+	 * Give every object a new blank node.  This is the cheapest strategy, but objects do not have the same identity
+	 * across writes, and an object written twice is described twice.
+	 *
+	 * @return  the strategy
+	 */
+	public static IdStrategy blankNodes() {
+		return (theObject, theContext) -> theContext.valueFactory().createBNode();
+	}
+
+	/**
+	 * Give every object an IRI in the default namespace of the mapper numbered from a counter.  The numbers are only
+	 * unique to the strategy instance, so each mapper should get its own instance, and graphs written by different
+	 * mappers, or different runs of the same program, must not be merged.
+	 *
+	 * @return  the strategy
+	 */
+	public static IdStrategy sequence() {
+		final AtomicLong aCounter = new AtomicLong();
+
+		return (theObject, theContext) -> theContext.valueFactory().createIRI(theContext.namespace() + "_seq:" + aCounter.incrementAndGet());
+	}
+
+	/**
+	 * Give every object a {@code urn:uuid:} IRI with a random (version 4) UUID.  The UUIDs come from
+	 * {@link ThreadLocalRandom} rather than a {@link java.security.SecureRandom} and are not suitable where the IDs
+	 * must not be guessable.
+	 *
+	 * @return  the strategy
+	 */
+	public static IdStrategy randomUUIDs() {
+		return (theObject, theContext) -> {
+			final ThreadLocalRandom aRandom = ThreadLocalRandom.current();
+
+			final UUID aUUID = new UUID((aRandom.nextLong() & ~0xF000L) | 0x4000L,
+			                            (aRandom.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+
+			return theContext.valueFactory().createIRI("urn:uuid:" + aUUID);
+		};
+	}
+
+	/**
+	 * Hash the values of the mapped properties of the object with {@link Hashing#murmur3_128() murmur3}.
+	 *
+	 * @return  the strategy
+	 *
+	 * @see #structuralHash(HashFunction)
+	 */
+	public static IdStrategy structuralHash() {
+		return structuralHash(Hashing.murmur3_128());
+	}
+
+	/**
+	 * Hash the values of the properties of the object which the mapper writes, read with the mapper's
+	 * {@link RDFMapper.Builder#accessors accessors}, so that objects which are written as the same RDF get the same
+	 * rdf:ID.  Values are fed to the hash directly: strings, numbers and the other primitive values by value,
+	 * collections, maps and arrays element by element, and nested beans property by property.  No string
+	 * representation of the object is built, except for classes of the JDK, RDF {@link Value values}, and beans with
+	 * no mapped properties, which are not collections or maps and are hashed by their {@code toString()}.
+	 *
+	 * <p>Equal beans get the same rdf:ID as long as their collections iterate in the same order.  A reference back to
+	 * a bean whose properties are still being hashed is hashed as a marker so cycles terminate.</p>
+	 *
+	 * @param theHash   the hash function
+	 * @return          the strategy
+	 */
+	public static IdStrategy structuralHash(final HashFunction theHash) {
+		return new StructuralHash(Preconditions.checkNotNull(theHash));
+	}
+
+	private static final class StructuralHash implements IdStrategy {
+
+		private static final byte NULL = 0;
+		private static final byte STRING = 1;
+		private static final byte INTEGRAL = 2;
+		private static final byte DECIMAL = 3;
+		private static final byte BOOLEAN = 4;
+		private static final byte CHAR = 5;
+		private static final byte COLLECTION = 6;
+		private static final byte MAP = 7;
+		private static final byte BEAN = 8;
+		private static final byte CYCLE = 9;
+		private static final byte END = 10;
+
+		private final HashFunction mHash;
+
+		StructuralHash(final HashFunction theHash) {
+			mHash = theHash;
+		}
+
+		@Override
+		public Resource id(final Object theObject, final Context theContext) {
+			final Hasher aHasher = mHash.newHasher();
+
+			put(aHasher, theObject, theContext, Collections.newSetFromMap(new IdentityHashMap<>()));
+
+			return theContext.valueFactory().createIRI(theContext.namespace() + aHasher.hash());
+		}
+
+		private void put(final Hasher theHasher, final Object theValue, final Context theContext, final Set<Object> theParents) {
+			if (theValue == null) {
+				theHasher.putByte(NULL);
+			}
+			else if (theValue instanceof CharSequence) {
+				putString(theHasher, (CharSequence) theValue);
+			}
+			else if (theValue instanceof Integer || theValue instanceof Long
+			         || theValue instanceof Short || theValue instanceof Byte) {
+				theHasher.putByte(INTEGRAL).putLong(((Number) theValue).longValue());
+			}
+			else if (theValue instanceof Double || theValue instanceof Float) {
+				theHasher.putByte(DECIMAL).putDouble(((Number) theValue).doubleValue());
+			}
+			else if (theValue instanceof Boolean) {
+				theHasher.putByte(BOOLEAN).putBoolean((Boolean) theValue);
+			}
+			else if (theValue instanceof Character) {
+				theHasher.putByte(CHAR).putChar((Character) theValue);
+			}
+			else if (theValue instanceof Enum) {
+				putString(theHasher, ((Enum<?>) theValue).name());
+			}
+			else if (theValue instanceof Date) {
+				theHasher.putByte(INTEGRAL).putLong(((Date) theValue).getTime());
+			}
+			else if (theValue instanceof Iterable) {
+				theHasher.putByte(COLLECTION);
+
+				for (Object aElement : (Iterable<?>) theValue) {
+					put(theHasher, aElement, theContext, theParents);
+				}
+
+				theHasher.putByte(END);
+			}
+			else if (theValue instanceof Map) {
+				theHasher.putByte(MAP);
+
+				for (Map.Entry<?, ?> aEntry : ((Map<?, ?>) theValue).entrySet()) {
+					put(theHasher, aEntry.getKey(), theContext, theParents);
+					put(theHasher, aEntry.getValue(), theContext, theParents);
+				}
+
+				theHasher.putByte(END);
+			}
+			else if (theValue.getClass().isArray()) {
+				theHasher.putByte(COLLECTION);
+
+				for (int i = 0; i < Array.getLength(theValue); i++) {
+					put(theHasher, Array.get(theValue, i), theContext, theParents);
+				}
+
+				theHasher.putByte(END);
+			}
+			else if (theValue instanceof Value || theValue.getClass().getName().startsWith("java.")) {
+				putString(theHasher, theValue.toString());
+			}
+			else if (!theParents.add(theValue)) {
+				theHasher.putByte(CYCLE);
+			}
+			else {
+				theHasher.putByte(BEAN);
+				theHasher.putString(theValue.getClass().getName(), Charsets.UTF_8);
+
+				final int aCount = theContext.properties(theValue, (theName, theProperty) -> put(theHasher, theProperty, theContext, theParents));
+
+				theHasher.putByte(END);
+
+				// without any mapped properties all that is left to tell instances apart is their string form
+				if (aCount == 0) {
+					putString(theHasher, theValue.toString());
+				}
+
+				theParents.remove(theValue);
+			}
+		}
+
+		private static void putString(final Hasher theHasher, final CharSequence theValue) {
+			theHasher.putByte(STRING).putInt(theValue.length()).putUnencodedChars(theValue);
+		}
+	}
+}
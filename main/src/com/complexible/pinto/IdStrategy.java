@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.Resource;
+import org.openrdf.model.ValueFactory;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>Creates the rdf:ID of an object which does not have one of its own.  The strategy is used by {@link RDFMapper}
+ * when {@link RDFMapper#writeValue(Object) writing} an object which does not implement {@link Identifiable}, has no
+ * {@link com.complexible.pinto.annotations.RdfId} properties, and has no id function.</p>
+ *
+ * <p>A strategy is shared by every write made with the mapper it was given to, it must be safe to use from several
+ * threads at once.  Pinto includes several strategies, see {@link IdStrategies}; others can be provided to the
+ * {@link RDFMapper.Builder#idStrategy mapper} when it's created.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+@FunctionalInterface
+public interface IdStrategy {
+
+	/**
+	 * Create the rdf:ID of the object
+	 *
+	 * @param theObject     the object
+	 * @param theContext    the mapper the object is being written with
+	 * @return              the rdf:ID
+	 */
+	public Resource id(final Object theObject, final Context theContext);
+
+	/**
+	 * <p>What an {@link IdStrategy} can use of the mapper an object is being written with.</p>
+	 */
+	public interface Context {
+
+		/**
+		 * Return the value factory of the mapper
+		 *
+		 * @return  the value factory
+		 */
+		public ValueFactory valueFactory();
+
+		/**
+		 * Return the default namespace of the mapper
+		 *
+		 * @return  the namespace
+		 */
+		public String namespace();
+
+		/**
+		 * Pass the name and value of each property of the bean which the mapper writes to the consumer.  The
+		 * properties are those of the mapping of the bean's class, read with the mapper's
+		 * {@link RDFMapper.Builder#accessors accessors}, in the same order every time.
+		 *
+		 * @param theBean       the bean
+		 * @param theConsumer   the consumer of the properties
+		 * @return              the number of properties passed to the consumer
+		 *
+		 * @throws RDFMappingException if a property cannot be read
+		 */
+		public int properties(final Object theBean, final BiConsumer<String, Object> theConsumer);
+	}
+}
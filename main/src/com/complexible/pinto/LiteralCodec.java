@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.IRI;
+import org.openrdf.model.Literal;
+import org.openrdf.model.Model;
+import org.openrdf.model.Value;
+
+/**
+ * <p>A {@link RDFCodec codec} which (de)serializes an object as a single literal rather than as a resource with its
+ * own description.  A property whose value has a literal codec is written as one statement whose object is the
+ * literal.</p>
+ *
+ * <p>Literal codecs are registered with the {@link RDFMapper.Builder#codec(Class, RDFCodec) mapper} like any other
+ * codec.  The codec is also used as the {@link LiteralDecoder decoder} of its {@link #datatype() datatype} unless the
+ * mapper already has one, which is what lets values in places without a declared type, such as the values of a
+ * {@link java.util.Map}, be read back.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+public interface LiteralCodec<T> extends RDFCodec<T>, LiteralDecoder<T> {
+
+	/**
+	 * Return the datatype of the literals created by the codec
+	 *
+	 * @return  the datatype
+	 */
+	public IRI datatype();
+
+	/**
+	 * Serialize the given value as a literal
+	 *
+	 * @param theValue  the value to serialize
+	 *
+	 * @return          the literal
+	 */
+	@Override
+	public Literal writeValue(final T theValue);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default T readValue(final Model theGraph, final Value theObj) {
+		return theObj instanceof Literal ? decode((Literal) theObj) : null;
+	}
+}
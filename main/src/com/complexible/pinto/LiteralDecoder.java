@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.Literal;
+
+/**
+ * <p>Converts literals of a particular datatype into Java objects when {@link RDFMapper#readValue reading} a bean.
+ * Pinto includes decoders for the common XSD datatypes, decoders for other datatypes can be provided to the
+ * {@link RDFMapper.Builder#decoder mapper} when it's created.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+@FunctionalInterface
+public interface LiteralDecoder<T> {
+
+	/**
+	 * Convert the literal into its Java representation
+	 *
+	 * @param theLiteral    the literal
+	 * @return              the value, or null if the literal does not have a valid value
+	 *
+	 * @throws RDFMappingException if the literal cannot be converted
+	 */
+	public T decode(final Literal theLiteral);
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Running totals of the work done by an {@link RDFMapper} writing beans as RDF, across all threads using the
+ * mapper.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see RDFMapper#stats()
+ */
+public final class MapperStats {
+
+	private final LongAdder mBeans = new LongAdder();
+
+	private final LongAdder mStatements = new LongAdder();
+
+	private final LongAdder mNanos = new LongAdder();
+
+	MapperStats() {
+	}
+
+	/**
+	 * Record a completed write
+	 *
+	 * @param theBeans      the number of top level beans written
+	 * @param theStatements the number of statements written
+	 * @param theNanos      the time taken in nanoseconds
+	 */
+	void written(final long theBeans, final long theStatements, final long theNanos) {
+		mBeans.add(theBeans);
+		mStatements.add(theStatements);
+		mNanos.add(theNanos);
+	}
+
+	/**
+	 * Return the number of beans written, not counting the beans they reference
+	 *
+	 * @return  the number of beans
+	 */
+	public long beansWritten() {
+		return mBeans.sum();
+	}
+
+	/**
+	 * Return the number of statements written
+	 *
+	 * @return  the number of statements
+	 */
+	public long statementsWritten() {
+		return mStatements.sum();
+	}
+
+	/**
+	 * Return the total time spent writing
+	 *
+	 * @param theUnit   the unit of the result
+	 * @return          the time spent
+	 */
+	public long writeTime(final TimeUnit theUnit) {
+		return theUnit.convert(mNanos.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Return the average rate at which statements have been written
+	 *
+	 * @return  the statements written per second, or 0 if nothing has been written
+	 */
+	public double statementsPerSecond() {
+		final long aNanos = mNanos.sum();
+
+		return aNanos == 0 ? 0 : statementsWritten() / (aNanos / 1_000_000_000d);
+	}
+
+	/**
+	 * Reset all the totals to zero
+	 */
+	public void reset() {
+		mBeans.reset();
+		mStatements.reset();
+		mNanos.reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s beans, %s statements written in %sms (%.0f statements/s)",
+		                     beansWritten(), statementsWritten(), writeTime(TimeUnit.MILLISECONDS), statementsPerSecond());
+	}
+}
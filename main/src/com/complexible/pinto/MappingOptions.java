@@ -18,6 +18,10 @@ import com.complexible.common.base.Option;
 import com.complexible.common.base.Options;
 import com.complexible.pinto.annotations.RdfId;
 import com.complexible.pinto.annotations.RdfProperty;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.Collection;
 
 /**
  * <p>Set of options for controlling some aspects of mapping beans to RDF.</p>
@@ -72,5 +76,51 @@ public final class MappingOptions {
 	 * default: `false`
 	 */
 	public static final Option<Boolean> IGNORE_CARDINALITY_VIOLATIONS = Option.create("ignore.cardinality.violations", false);
+
+	/**
+	 * When true, a {@code Map} property whose keys are strings and whose values are primitives, such as
+	 * {@code Map<String, Integer>}, is serialized with a single assertion per entry whose predicate is the key, in the
+	 * {@link RDFMapper#MAP_KEY_NAMESPACE map key namespace}, and whose object is the value.  Otherwise each entry is a
+	 * separate resource with {@link RDFMapper#KEY key} and {@link RDFMapper#VALUE value} assertions.  Maps in either
+	 * form are read regardless of this option.
+	 *
+	 * default: `false`
+	 */
+	public static final Option<Boolean> COMPACT_MAPS = Option.create("compact.maps", false);
+
+	/**
+	 * When true, a {@link Collection collection} whose elements are {@code Integer}, {@code Long}, {@code Short},
+	 * {@code Double} or {@code Float} is serialized as a single literal of the lexical values of its elements separated
+	 * by spaces, rather than with an assertion, or {@code rdf:List} cell, per element.  Primitive arrays, such as
+	 * {@code int[]}, are always serialized this way, {@code byte[]} as an {@code xsd:base64Binary} literal.  A collection
+	 * which contains {@code null} cannot be packed without losing the positions of its elements, writing one is an
+	 * error.  Packed
+	 * collections are read regardless of this option.
+	 *
+	 * default: `false`
+	 *
+	 * @see RdfProperty#packed()
+	 */
+	public static final Option<Boolean> PACK_COLLECTIONS = Option.create("pack.collections", false);
+
+	/**
+	 * When true, each write, or {@link RDFMapper#writeAll(Iterable, org.openrdf.model.Model) batch} of writes, passes
+	 * each distinct statement to the model or handler once, such as the statements shared by different objects with
+	 * the same rdf:ID.  Every statement written is kept until the write completes, so for a large batch this costs
+	 * about as much memory as building a model of the output.
+	 *
+	 * default: `false`
+	 */
+	public static final Option<Boolean> DISTINCT_STATEMENTS = Option.create("distinct.statements", false);
+
+	/**
+	 * The hash function used to create the rdf:ID of an object from the values of its {@link RdfId} properties, or
+	 * from its {@code toString} when it has none.  Changing the function changes the rdf:ID generated for every
+	 * object, so the default remains MD5 to match the IDs of existing data; {@link Hashing#murmur3_128()} is
+	 * considerably faster where that does not matter.
+	 *
+	 * default: {@link Hashing#md5()}
+	 */
+	public static final Option<HashFunction> ID_HASH = Option.create("id.hash", Hashing.md5());
 }
 
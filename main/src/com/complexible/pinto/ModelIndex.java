@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.vocabulary.RDF;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>A subject &rarr; predicate &rarr; objects index over a {@link Model}.  The index is built with a single pass over
+ * the graph so that lookups made while {@link RDFMapper#readValue(Model, Class, Resource) reading} a bean do not have
+ * to scan the whole graph for every property of every object.</p>
+ *
+ * <p>The index is a snapshot; changes made to the underlying graph after it was created are not reflected.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class ModelIndex {
+
+	private final Model mGraph;
+
+	private final Map<Resource, Map<IRI, List<Value>>> mIndex;
+
+	private final Map<Value, List<Resource>> mInstances = Maps.newHashMap();
+
+	private ModelIndex(final Model theGraph) {
+		mGraph = theGraph;
+		mIndex = Maps.newHashMapWithExpectedSize(theGraph.size() / 4);
+
+		for (Statement aStmt : theGraph) {
+			mIndex.computeIfAbsent(aStmt.getSubject(), theSubject -> Maps.newHashMapWithExpectedSize(4))
+			      .computeIfAbsent(aStmt.getPredicate(), thePredicate -> Lists.newArrayListWithCapacity(1))
+			      .add(aStmt.getObject());
+
+			if (RDF.TYPE.equals(aStmt.getPredicate())) {
+				mInstances.computeIfAbsent(aStmt.getObject(), theType -> Lists.newArrayList())
+				          .add(aStmt.getSubject());
+			}
+		}
+	}
+
+	/**
+	 * Create an index over the given graph
+	 *
+	 * @param theGraph  the graph
+	 * @return          the index
+	 */
+	public static ModelIndex of(final Model theGraph) {
+		return new ModelIndex(theGraph);
+	}
+
+	/**
+	 * Return the graph this index was built from
+	 *
+	 * @return  the graph
+	 */
+	public Model graph() {
+		return mGraph;
+	}
+
+	/**
+	 * Return the subjects of the indexed graph
+	 *
+	 * @return  the subjects
+	 */
+	public Set<Resource> subjects() {
+		return Collections.unmodifiableSet(mIndex.keySet());
+	}
+
+	/**
+	 * Return all the values of the property on the given subject.  The returned list must not be modified.
+	 *
+	 * @param theSubject    the subject
+	 * @param theProperty   the property
+	 * @return              the values, or an empty list if there are none
+	 */
+	public List<Value> objects(final Resource theSubject, final IRI theProperty) {
+		final Map<IRI, List<Value>> aProperties = mIndex.get(theSubject);
+
+		if (aProperties == null) {
+			return Collections.emptyList();
+		}
+
+		final List<Value> aValues = aProperties.get(theProperty);
+
+		return aValues == null ? Collections.<Value>emptyList() : aValues;
+	}
+
+	/**
+	 * Return all the properties of the given subject and their values.  The returned map must not be modified.
+	 *
+	 * @param theSubject    the subject
+	 * @return              the properties, or an empty map if the subject has none
+	 */
+	public Map<IRI, List<Value>> properties(final Resource theSubject) {
+		final Map<IRI, List<Value>> aProperties = mIndex.get(theSubject);
+
+		return aProperties == null ? Collections.<IRI, List<Value>>emptyMap() : aProperties;
+	}
+
+	/**
+	 * Return the first value of the property on the given subject
+	 *
+	 * @param theSubject    the subject
+	 * @param theProperty   the property
+	 * @return              the value, or an empty optional if there is no value
+	 */
+	public Optional<Value> object(final Resource theSubject, final IRI theProperty) {
+		final List<Value> aValues = objects(theSubject, theProperty);
+
+		return aValues.isEmpty() ? Optional.empty() : Optional.of(aValues.get(0));
+	}
+
+	/**
+	 * Return the subjects whose {@code rdf:type} is the given type.  The returned list must not be modified.
+	 *
+	 * @param theType   the type
+	 * @return          the instances of the type, or an empty list if there are none
+	 */
+	public List<Resource> instances(final Resource theType) {
+		final List<Resource> aInstances = mInstances.get(theType);
+
+		return aInstances == null ? Collections.<Resource>emptyList() : aInstances;
+	}
+}
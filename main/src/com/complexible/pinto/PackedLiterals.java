@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.IRI;
+import org.openrdf.model.Literal;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.XMLSchema;
+
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * <p>Reading and writing of numeric collections and primitive arrays as a single, packed, literal.  A {@code byte[]}
+ * is an {@code xsd:base64Binary} literal, everything else is a {@link #PACKED} literal of the lexical forms of the
+ * elements separated by a space, e.g. {@code "1 2 3"}.</p>
+ *
+ * <p>Arrays are encoded and decoded element by element with no boxing.  The elements of collections are necessarily
+ * boxed, but are appended to, and parsed from, the literal directly rather than through a literal per element.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see MappingOptions#PACK_COLLECTIONS
+ */
+final class PackedLiterals {
+
+	/**
+	 * The datatype of packed literals
+	 */
+	public static final IRI PACKED = SimpleValueFactory.getInstance().createIRI(RDFMapper.DEFAULT_NAMESPACE, "_packed");
+
+	private PackedLiterals() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Receives the bounds of each element of a packed literal
+	 */
+	@FunctionalInterface
+	private interface Elements {
+		public void accept(final int theIndex, final int theStart, final int theEnd);
+	}
+
+	/**
+	 * Return whether or not the type is a primitive array which is written as a packed literal
+	 *
+	 * @param theType   the type
+	 * @return          true if the type can be packed
+	 */
+	public static boolean isArray(final Class<?> theType) {
+		return theType == int[].class || theType == long[].class || theType == short[].class
+		       || theType == double[].class || theType == float[].class || theType == byte[].class;
+	}
+
+	/**
+	 * Return whether or not a collection of the given element type can be written as a packed literal
+	 *
+	 * @param theType   the type of the elements
+	 * @return          true if the collection can be packed
+	 */
+	public static boolean isElement(final Class<?> theType) {
+		return theType == Integer.class || theType == Long.class || theType == Short.class
+		       || theType == Double.class || theType == Float.class;
+	}
+
+	/**
+	 * Return whether or not the value is a packed literal
+	 *
+	 * @param theValue  the value
+	 * @return          true if the value is packed
+	 */
+	public static boolean isPacked(final Value theValue) {
+		return theValue instanceof Literal
+		       && (PACKED.equals(((Literal) theValue).getDatatype())
+		           || XMLSchema.BASE64BINARY.equals(((Literal) theValue).getDatatype()));
+	}
+
+	/**
+	 * Create the packed literal of the array or collection
+	 *
+	 * @param theFactory    the factory to create the literal with
+	 * @param theValue      the array, or the collection of numbers
+	 * @return              the literal
+	 *
+	 * @throws RDFMappingException if the value cannot be packed
+	 */
+	public static Literal write(final ValueFactory theFactory, final Object theValue) {
+		if (theValue instanceof byte[]) {
+			return theFactory.createLiteral(Base64.getEncoder().encodeToString((byte[]) theValue), XMLSchema.BASE64BINARY);
+		}
+
+		final StringBuilder aBuilder = new StringBuilder();
+
+		if (theValue instanceof int[]) {
+			for (int aInt : (int[]) theValue) {
+				separate(aBuilder).append(aInt);
+			}
+		}
+		else if (theValue instanceof long[]) {
+			for (long aLong : (long[]) theValue) {
+				separate(aBuilder).append(aLong);
+			}
+		}
+		else if (theValue instanceof short[]) {
+			for (short aShort : (short[]) theValue) {
+				separate(aBuilder).append(aShort);
+			}
+		}
+		else if (theValue instanceof double[]) {
+			for (double aDouble : (double[]) theValue) {
+				separate(aBuilder).append(aDouble);
+			}
+		}
+		else if (theValue instanceof float[]) {
+			for (float aFloat : (float[]) theValue) {
+				separate(aBuilder).append(aFloat);
+			}
+		}
+		else if (theValue instanceof Collection) {
+			for (Object aElem : (Collection<?>) theValue) {
+				if (aElem == null) {
+					throw new RDFMappingException("A collection containing null cannot be written as a packed literal");
+				}
+				else if (aElem instanceof Integer || aElem instanceof Short) {
+					separate(aBuilder).append(((Number) aElem).intValue());
+				}
+				else if (aElem instanceof Long) {
+					separate(aBuilder).append(((Long) aElem).longValue());
+				}
+				else if (aElem instanceof Double) {
+					separate(aBuilder).append(((Double) aElem).doubleValue());
+				}
+				else if (aElem instanceof Float) {
+					separate(aBuilder).append(((Float) aElem).floatValue());
+				}
+				else {
+					throw new RDFMappingException(String.format("%s cannot be written as part of a packed literal", aElem.getClass()));
+				}
+			}
+		}
+		else {
+			throw new RDFMappingException(String.format("%s cannot be written as a packed literal", theValue.getClass()));
+		}
+
+		return theFactory.createLiteral(aBuilder.toString(), PACKED);
+	}
+
+	/**
+	 * Read a primitive array from a packed literal
+	 *
+	 * @param theLiteral    the literal
+	 * @param theType       the type of the array
+	 * @return              the array
+	 *
+	 * @throws RDFMappingException if the literal is not a valid packed literal for the array type
+	 */
+	public static Object read(final Literal theLiteral, final Class<?> theType) {
+		final String aLabel = theLiteral.getLabel();
+
+		if (theType == byte[].class) {
+			try {
+				return Base64.getDecoder().decode(aLabel);
+			}
+			catch (IllegalArgumentException e) {
+				throw new RDFMappingException("Invalid base64 value for a byte[]", e);
+			}
+		}
+		else if (theType == int[].class) {
+			final int[] aArray = new int[count(aLabel)];
+			elements(aLabel, (theIndex, theStart, theEnd) -> aArray[theIndex] = toInt(aLabel, theStart, theEnd));
+			return aArray;
+		}
+		else if (theType == long[].class) {
+			final long[] aArray = new long[count(aLabel)];
+			elements(aLabel, (theIndex, theStart, theEnd) -> aArray[theIndex] = toLong(aLabel, theStart, theEnd));
+			return aArray;
+		}
+		else if (theType == short[].class) {
+			final short[] aArray = new short[count(aLabel)];
+			elements(aLabel, (theIndex, theStart, theEnd) -> aArray[theIndex] = toShort(aLabel, theStart, theEnd));
+			return aArray;
+		}
+		else if (theType == double[].class) {
+			final double[] aArray = new double[count(aLabel)];
+			elements(aLabel, (theIndex, theStart, theEnd) -> aArray[theIndex] = toDouble(aLabel, theStart, theEnd));
+			return aArray;
+		}
+		else if (theType == float[].class) {
+			final float[] aArray = new float[count(aLabel)];
+			elements(aLabel, (theIndex, theStart, theEnd) -> aArray[theIndex] = toFloat(aLabel, theStart, theEnd));
+			return aArray;
+		}
+		else {
+			throw new RDFMappingException(String.format("%s cannot be read from a packed literal", theType));
+		}
+	}
+
+	/**
+	 * Read the elements of a packed literal into a collection
+	 *
+	 * @param theLiteral    the literal
+	 * @param theType       the type of the elements
+	 * @param theCollection the collection to add the elements to
+	 * @return              the collection
+	 *
+	 * @throws RDFMappingException if the literal is not a valid packed literal for the element type
+	 */
+	public static Collection<Object> read(final Literal theLiteral, final Class<?> theType,
+	                                      final Collection<Object> theCollection) {
+		final String aLabel = theLiteral.getLabel();
+
+		final Elements aElements;
+
+		if (theType == Integer.class) {
+			aElements = (theIndex, theStart, theEnd) -> theCollection.add(toInt(aLabel, theStart, theEnd));
+		}
+		else if (theType == Long.class) {
+			aElements = (theIndex, theStart, theEnd) -> theCollection.add(toLong(aLabel, theStart, theEnd));
+		}
+		else if (theType == Short.class) {
+			aElements = (theIndex, theStart, theEnd) -> theCollection.add(toShort(aLabel, theStart, theEnd));
+		}
+		else if (theType == Double.class) {
+			aElements = (theIndex, theStart, theEnd) -> theCollection.add(toDouble(aLabel, theStart, theEnd));
+		}
+		else if (theType == Float.class) {
+			aElements = (theIndex, theStart, theEnd) -> theCollection.add(toFloat(aLabel, theStart, theEnd));
+		}
+		else {
+			throw new RDFMappingException(String.format("%s cannot be read from a packed literal", theType));
+		}
+
+		elements(aLabel, aElements);
+
+		return theCollection;
+	}
+
+	/**
+	 * Return the number of elements in a packed literal
+	 *
+	 * @param theLiteral    the literal
+	 * @return              the number of elements
+	 */
+	public static int size(final Literal theLiteral) {
+		return count(theLiteral.getLabel());
+	}
+
+	private static StringBuilder separate(final StringBuilder theBuilder) {
+		return theBuilder.length() == 0 ? theBuilder : theBuilder.append(' ');
+	}
+
+	/**
+	 * Return the number of whitespace separated elements in the string
+	 */
+	private static int count(final String theLabel) {
+		return elements(theLabel, (theIndex, theStart, theEnd) -> { });
+	}
+
+	/**
+	 * Pass the bounds of each whitespace separated element of the string to the consumer
+	 *
+	 * @return  the number of elements
+	 */
+	private static int elements(final String theLabel, final Elements theElements) {
+		int aCount = 0;
+		int aPos = 0;
+
+		while (aPos < theLabel.length()) {
+			while (aPos < theLabel.length() && Character.isWhitespace(theLabel.charAt(aPos))) {
+				aPos++;
+			}
+
+			final int aStart = aPos;
+
+			while (aPos < theLabel.length() && !Character.isWhitespace(theLabel.charAt(aPos))) {
+				aPos++;
+			}
+
+			if (aPos > aStart) {
+				theElements.accept(aCount++, aStart, aPos);
+			}
+		}
+
+		return aCount;
+	}
+
+	private static long toLong(final String theLabel, final int theStart, final int theEnd) {
+		int aPos = theStart;
+		final boolean aNegative = theLabel.charAt(aPos) == '-';
+
+		if (aNegative || theLabel.charAt(aPos) == '+') {
+			aPos++;
+		}
+
+		if (aPos == theEnd) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+
+		// accumulated as a negative number so that Long.MIN_VALUE does not overflow
+		long aValue = 0;
+
+		try {
+			for (; aPos < theEnd; aPos++) {
+				final int aDigit = Character.digit(theLabel.charAt(aPos), 10);
+
+				if (aDigit < 0) {
+					throw invalid(theLabel, theStart, theEnd);
+				}
+
+				aValue = Math.subtractExact(Math.multiplyExact(aValue, 10), aDigit);
+			}
+
+			return aNegative ? aValue : Math.negateExact(aValue);
+		}
+		catch (ArithmeticException e) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+	}
+
+	private static int toInt(final String theLabel, final int theStart, final int theEnd) {
+		final long aValue = toLong(theLabel, theStart, theEnd);
+
+		if (aValue < Integer.MIN_VALUE || aValue > Integer.MAX_VALUE) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+
+		return (int) aValue;
+	}
+
+	private static short toShort(final String theLabel, final int theStart, final int theEnd) {
+		final long aValue = toLong(theLabel, theStart, theEnd);
+
+		if (aValue < Short.MIN_VALUE || aValue > Short.MAX_VALUE) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+
+		return (short) aValue;
+	}
+
+	private static double toDouble(final String theLabel, final int theStart, final int theEnd) {
+		try {
+			return Double.parseDouble(theLabel.substring(theStart, theEnd));
+		}
+		catch (NumberFormatException e) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+	}
+
+	private static float toFloat(final String theLabel, final int theStart, final int theEnd) {
+		try {
+			return Float.parseFloat(theLabel.substring(theStart, theEnd));
+		}
+		catch (NumberFormatException e) {
+			throw invalid(theLabel, theStart, theEnd);
+		}
+	}
+
+	private static RDFMappingException invalid(final String theLabel, final int theStart, final int theEnd) {
+		return new RDFMappingException(String.format("Invalid element in packed literal: %s", theLabel.substring(theStart, theEnd)));
+	}
+}
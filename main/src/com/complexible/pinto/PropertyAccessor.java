@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+/**
+ * <p>Reads and writes the value of a single bean property.  Accessors are bound once per bean class and reused for
+ * every instance of the class.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see PropertyAccessors
+ */
+public interface PropertyAccessor {
+
+	/**
+	 * Return the value of the property
+	 *
+	 * @param theBean   the bean to read from
+	 * @return          the value of the property
+	 *
+	 * @throws ReflectiveOperationException if the property could not be read, or the getter threw an exception
+	 */
+	public Object get(final Object theBean) throws ReflectiveOperationException;
+
+	/**
+	 * Set the value of the property
+	 *
+	 * @param theBean   the bean to modify
+	 * @param theValue  the new value of the property
+	 *
+	 * @throws ReflectiveOperationException if the property could not be written, or the setter threw an exception
+	 */
+	public void set(final Object theBean, final Object theValue) throws ReflectiveOperationException;
+}
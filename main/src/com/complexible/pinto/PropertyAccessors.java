@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.apache.commons.beanutils.PropertyUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * <p>The strategies available to {@link RDFMapper} for getting and setting the values of bean properties.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see RDFMapper.Builder#accessors(PropertyAccessors)
+ */
+public enum PropertyAccessors {
+
+	/**
+	 * Access properties by name through commons-beanutils {@link PropertyUtils}.  Every access is a reflective call
+	 * which looks the property up by name.
+	 */
+	BEANUTILS {
+		@Override
+		PropertyAccessor create(final PropertyDescriptor theDescriptor) {
+			return byName(theDescriptor.getName());
+		}
+	},
+
+	/**
+	 * Bind the getter and setter of each property to a {@link MethodHandle} once and invoke the handles directly.
+	 * Properties whose accessor methods cannot be bound, for example because the declaring class is not accessible,
+	 * fall back to {@link #BEANUTILS}.
+	 */
+	METHOD_HANDLES {
+		@Override
+		PropertyAccessor create(final PropertyDescriptor theDescriptor) {
+			try {
+				return new MethodHandleAccessor(handle(theDescriptor.getReadMethod(), MethodType.methodType(Object.class, Object.class)),
+				                                handle(theDescriptor.getWriteMethod(), MethodType.methodType(void.class, Object.class, Object.class)));
+			}
+			catch (IllegalAccessException e) {
+				return BEANUTILS.create(theDescriptor);
+			}
+		}
+	};
+
+	/**
+	 * Create the accessor for the property
+	 *
+	 * @param theDescriptor the property
+	 * @return              the accessor
+	 */
+	abstract PropertyAccessor create(final PropertyDescriptor theDescriptor);
+
+	/**
+	 * Create an accessor which looks the property up by name on each access, for properties which do not have a
+	 * {@link PropertyDescriptor}
+	 *
+	 * @param theName   the name of the property
+	 * @return          the accessor
+	 */
+	static PropertyAccessor byName(final String theName) {
+		return new BeanUtilsAccessor(theName);
+	}
+
+	private static MethodHandle handle(final Method theMethod, final MethodType theType) throws IllegalAccessException {
+		if (theMethod == null) {
+			return null;
+		}
+
+		final MethodHandles.Lookup aLookup = MethodHandles.publicLookup();
+
+		MethodHandle aHandle;
+
+		try {
+			aHandle = aLookup.unreflect(theMethod);
+		}
+		catch (IllegalAccessException e) {
+			// public methods of non-public classes, such as nested beans, are still callable reflectively
+			try {
+				theMethod.setAccessible(true);
+			}
+			catch (RuntimeException ex) {
+				// a SecurityException, or on Java 9+ an InaccessibleObjectException when the bean's module is not open
+				e.addSuppressed(ex);
+				throw e;
+			}
+
+			aHandle = aLookup.unreflect(theMethod);
+		}
+
+		return aHandle.asType(theType);
+	}
+
+	private static final class BeanUtilsAccessor implements PropertyAccessor {
+		private final String mName;
+
+		BeanUtilsAccessor(final String theName) {
+			mName = theName;
+		}
+
+		@Override
+		public Object get(final Object theBean) throws ReflectiveOperationException {
+			return PropertyUtils.getProperty(theBean, mName);
+		}
+
+		@Override
+		public void set(final Object theBean, final Object theValue) throws ReflectiveOperationException {
+			PropertyUtils.setProperty(theBean, mName, theValue);
+		}
+	}
+
+	private static final class MethodHandleAccessor implements PropertyAccessor {
+		private final MethodHandle mGetter;
+
+		private final MethodHandle mSetter;
+
+		MethodHandleAccessor(final MethodHandle theGetter, final MethodHandle theSetter) {
+			mGetter = theGetter;
+			mSetter = theSetter;
+		}
+
+		@Override
+		public Object get(final Object theBean) throws ReflectiveOperationException {
+			if (mGetter == null) {
+				throw new NoSuchMethodException("Property has no getter method");
+			}
+
+			try {
+				return (Object) mGetter.invokeExact(theBean);
+			}
+			catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public void set(final Object theBean, final Object theValue) throws ReflectiveOperationException {
+			if (mSetter == null) {
+				throw new NoSuchMethodException("Property has no setter method");
+			}
+
+			try {
+				mSetter.invokeExact(theBean, theValue);
+			}
+			catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+
+		/**
+		 * Report a failure of the handle the same way reflection would, errors are propagated as-is and everything
+		 * else, including a {@link ClassCastException} from an incompatible value, is wrapped.
+		 */
+		private static ReflectiveOperationException rethrow(final Throwable theError) {
+			if (theError instanceof Error) {
+				throw (Error) theError;
+			}
+
+			return new InvocationTargetException(theError);
+		}
+	}
+}
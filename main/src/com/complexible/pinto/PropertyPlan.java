@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.complexible.pinto.annotations.RdfProperty;
+import com.google.common.collect.ImmutableMap;
+import org.openrdf.model.IRI;
+
+import java.beans.PropertyDescriptor;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>The compiled mapping of a single bean property.  Everything about how the property is (de)serialized that can be
+ * worked out from the bean class and the {@link RDFMapper mapper} configuration is resolved once when the owning
+ * {@link ClassPlan} is created.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class PropertyPlan {
+
+	/**
+	 * The shape of a property
+	 */
+	enum Kind {
+		VALUE, COLLECTION, MAP
+	}
+
+	private final PropertyDescriptor mDescriptor;
+
+	private final IRI mProperty;
+
+	private final RdfProperty mAnnotation;
+
+	private final boolean mTyped;
+
+	private final IRI mDatatype;
+
+	private final String mLanguage;
+
+	private final Kind mKind;
+
+	private final boolean mList;
+
+	private final Class<?> mValueClass;
+
+	private final Class<?> mKeyClass;
+
+	private final boolean mResolveType;
+
+	private final boolean mCompactMap;
+
+	private final boolean mPacked;
+
+	private final RDFCodec<?> mCodec;
+
+	private final PropertyAccessor mAccessor;
+
+	private final ImmutableMap<IRI, LiteralDecoder<?>> mDecoders;
+
+	private final EnumTable<?> mEnums;
+
+	PropertyPlan(final PropertyDescriptor theDescriptor, final IRI theProperty, final RdfProperty theAnnotation,
+	             final IRI theDatatype, final boolean theList, final Class<?> theValueClass, final Class<?> theKeyClass,
+	             final boolean theResolveType, final boolean theCompactMap, final boolean thePacked,
+	             final RDFCodec<?> theCodec, final PropertyAccessor theAccessor,
+	             final Map<IRI, LiteralDecoder<?>> theDecoders, final EnumTable<?> theEnums) {
+		mDescriptor = theDescriptor;
+		mProperty = theProperty;
+		mAnnotation = theAnnotation;
+		mTyped = theAnnotation != null && !theAnnotation.datatype().isEmpty();
+		mDatatype = theDatatype;
+		mLanguage = theAnnotation == null ? "" : theAnnotation.language();
+		mList = theList;
+		mValueClass = theValueClass;
+		mKeyClass = theKeyClass;
+		mResolveType = theResolveType;
+		mCompactMap = theCompactMap;
+		mPacked = thePacked;
+		mCodec = theCodec;
+		mAccessor = theAccessor;
+		mDecoders = ImmutableMap.copyOf(theDecoders);
+		mEnums = theEnums;
+
+		if (Collection.class.isAssignableFrom(theDescriptor.getPropertyType())) {
+			mKind = Kind.COLLECTION;
+		}
+		else if (Map.class.isAssignableFrom(theDescriptor.getPropertyType())) {
+			mKind = Kind.MAP;
+		}
+		else {
+			mKind = Kind.VALUE;
+		}
+	}
+
+	public PropertyDescriptor descriptor() {
+		return mDescriptor;
+	}
+
+	public String name() {
+		return mDescriptor.getName();
+	}
+
+	/**
+	 * Return the declared type of the property
+	 *
+	 * @return  the type
+	 */
+	public Class<?> type() {
+		return mDescriptor.getPropertyType();
+	}
+
+	/**
+	 * Return the RDF property the bean property is mapped to
+	 *
+	 * @return  the property
+	 */
+	public IRI iri() {
+		return mProperty;
+	}
+
+	public RdfProperty annotation() {
+		return mAnnotation;
+	}
+
+	/**
+	 * Return whether or not the property has an explicit {@link RdfProperty#datatype() datatype}.  When it does, but
+	 * {@link #datatype()} is null, the datatype was invalid and the literal values of the property cannot be created.
+	 *
+	 * @return  true if a datatype was specified
+	 */
+	public boolean isTyped() {
+		return mTyped;
+	}
+
+	public IRI datatype() {
+		return mDatatype;
+	}
+
+	public String language() {
+		return mLanguage;
+	}
+
+	public Kind kind() {
+		return mKind;
+	}
+
+	/**
+	 * Return whether or not collection values of this property are serialized as an {@code rdf:List}
+	 *
+	 * @return  true if serialized as a list
+	 */
+	public boolean isList() {
+		return mList;
+	}
+
+	/**
+	 * Return the type of the values of the property.  For collections this is the element type, for maps the type of
+	 * the values of the map, otherwise the property type.
+	 *
+	 * @return  the value type
+	 */
+	public Class<?> valueClass() {
+		return mValueClass;
+	}
+
+	/**
+	 * Return the type of the keys of the property when it is a map
+	 *
+	 * @return  the key type, or null if the property is not a map
+	 */
+	public Class<?> keyClass() {
+		return mKeyClass;
+	}
+
+	/**
+	 * Return whether or not the {@link #valueClass() value type} cannot be created directly and the {@code rdf:type}
+	 * of the value must be used to pick the class to instantiate.
+	 *
+	 * @return  true if the type must be resolved from the data
+	 */
+	public boolean isResolveType() {
+		return mResolveType;
+	}
+
+	/**
+	 * Return whether or not the property is a map which is written in its {@link MappingOptions#COMPACT_MAPS compact}
+	 * form
+	 *
+	 * @return  true if the map is written in the compact form
+	 */
+	public boolean isCompactMap() {
+		return mCompactMap;
+	}
+
+	/**
+	 * Return whether or not the property is a primitive array, or a collection of numbers, which is written as a single
+	 * {@link PackedLiterals packed} literal
+	 *
+	 * @return  true if the value is packed
+	 */
+	public boolean isPacked() {
+		return mPacked;
+	}
+
+	/**
+	 * Return the codec for the {@link #valueClass() value type}, if any
+	 *
+	 * @return  the codec, or null
+	 */
+	public RDFCodec<?> codec() {
+		return mCodec;
+	}
+
+	/**
+	 * Return the accessor used to get and set the value of the property on an instance of the bean
+	 *
+	 * @return  the accessor
+	 */
+	public PropertyAccessor accessor() {
+		return mAccessor;
+	}
+
+	/**
+	 * Return the decoder bound to this property for literals of the given datatype
+	 *
+	 * @param theDatatype   the datatype of the literal
+	 * @return              the decoder, or null if the mapper's decoder for the datatype should be used
+	 */
+	public LiteralDecoder<?> decoder(final IRI theDatatype) {
+		return mDecoders.get(theDatatype);
+	}
+
+	/**
+	 * Return the table of the enum constants of the {@link #valueClass() value type} when it is an enum
+	 *
+	 * @return  the table, or null if the values are not enums
+	 */
+	public EnumTable<?> enums() {
+		return mEnums;
+	}
+
+	public boolean isReadable() {
+		return mDescriptor.getReadMethod() != null;
+	}
+}
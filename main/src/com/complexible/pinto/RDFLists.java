@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.vocabulary.RDF;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Reading and writing of {@code rdf:List}'s.  Lists are read by following {@code rdf:rest} through a
+ * {@link ModelIndex}, so each cell is a constant time lookup, and written directly to a {@link StatementSink}.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class RDFLists {
+
+	private RDFLists() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Return whether or not the resource is the head of an {@code rdf:List}, that is, either {@code rdf:nil} or a
+	 * resource with an {@code rdf:first}.
+	 *
+	 * @param theIndex  the index of the graph
+	 * @param theHead   the resource
+	 * @return          true if the resource is a list
+	 */
+	public static boolean isList(final ModelIndex theIndex, final Resource theHead) {
+		return RDF.NIL.equals(theHead) || !theIndex.objects(theHead, RDF.FIRST).isEmpty();
+	}
+
+	/**
+	 * Return the elements of the {@code rdf:List} starting at the given resource
+	 *
+	 * @param theIndex  the index of the graph
+	 * @param theHead   the first cell of the list
+	 * @return          the elements of the list
+	 *
+	 * @throws RDFMappingException if the list is malformed; a cell without exactly one {@code rdf:first} and one
+	 *                             {@code rdf:rest}, or a list which does not end with {@code rdf:nil}
+	 */
+	public static List<Value> asList(final ModelIndex theIndex, final Resource theHead) {
+		if (RDF.NIL.equals(theHead)) {
+			return Collections.emptyList();
+		}
+
+		final List<Value> aElements = Lists.newArrayList();
+		final Set<Resource> aCells = Sets.newHashSet();
+
+		Resource aCell = theHead;
+
+		while (!RDF.NIL.equals(aCell)) {
+			if (!aCells.add(aCell)) {
+				throw new RDFMappingException(String.format("The rdf:List %s is cyclic, %s appears more than once", theHead, aCell));
+			}
+
+			final List<Value> aFirst = theIndex.objects(aCell, RDF.FIRST);
+			final List<Value> aRest = theIndex.objects(aCell, RDF.REST);
+
+			if (aFirst.size() != 1 || aRest.size() != 1) {
+				throw new RDFMappingException(String.format("The rdf:List %s is malformed, %s has %s rdf:first and %s rdf:rest values",
+				                                            theHead, aCell, aFirst.size(), aRest.size()));
+			}
+
+			if (!(aRest.get(0) instanceof Resource)) {
+				throw new RDFMappingException(String.format("The rdf:List %s is malformed, the rdf:rest of %s is a literal", theHead, aCell));
+			}
+
+			aElements.add(aFirst.get(0));
+
+			aCell = (Resource) aRest.get(0);
+		}
+
+		return aElements;
+	}
+
+	/**
+	 * Write the cells of an {@code rdf:List}
+	 *
+	 * @param theSink       the sink
+	 * @param theFactory    the factory used to create the cells after the first
+	 * @param theHead       the first cell of the list
+	 * @param theValues     the elements of the list, there must be at least one
+	 */
+	public static void write(final StatementSink theSink, final ValueFactory theFactory, final Resource theHead,
+	                         final List<Value> theValues) {
+		Resource aCell = theHead;
+
+		for (int i = 0; i < theValues.size(); i++) {
+			final Resource aRest = i == theValues.size() - 1 ? RDF.NIL : theFactory.createBNode();
+
+			theSink.add(aCell, RDF.FIRST, theValues.get(i));
+			theSink.add(aCell, RDF.REST, aRest);
+
+			aCell = aRest;
+		}
+	}
+}
@@ -15,21 +15,20 @@
 
 package com.complexible.pinto;
 
-import com.complexible.common.base.Dates;
 import com.complexible.common.base.Option;
 import com.complexible.common.base.Options;
 import com.complexible.common.beans.Beans;
 import com.complexible.common.openrdf.model.Models2;
-import com.complexible.common.openrdf.model.Statements;
-import com.complexible.common.openrdf.util.ModelBuilder;
 import com.complexible.common.openrdf.util.ResourceBuilder;
 import com.complexible.common.reflect.Classes;
 import com.complexible.common.reflect.Methods;
 import com.complexible.common.util.Namespaces;
-import com.complexible.pinto.annotations.Iri;
 import com.complexible.pinto.annotations.RdfId;
 import com.complexible.pinto.annotations.RdfProperty;
 import com.complexible.pinto.annotations.RdfsClass;
+import com.complexible.pinto.impl.DoubleList;
+import com.complexible.pinto.impl.IntList;
+import com.complexible.pinto.impl.LongList;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -37,13 +36,13 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
-import com.google.common.hash.Hashing;
+import com.google.common.reflect.TypeToken;
 import org.apache.commons.beanutils.FluentPropertyBeanIntrospector;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.openrdf.model.IRI;
@@ -51,28 +50,36 @@ import org.openrdf.model.Literal;
 import org.openrdf.model.Model;
 import org.openrdf.model.Namespace;
 import org.openrdf.model.Resource;
-import org.openrdf.model.Statement;
 import org.openrdf.model.Value;
 import org.openrdf.model.ValueFactory;
 import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.RDF;
 import org.openrdf.model.vocabulary.RDFS;
 import org.openrdf.model.vocabulary.XMLSchema;
+import org.openrdf.rio.RDFHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import sun.reflect.generics.reflectiveObjects.WildcardTypeImpl;
+import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
 import java.net.URISyntaxException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.regex.Pattern;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -97,6 +104,52 @@ public final class RDFMapper {
 	private static final ImmutableSet<IRI> FLOAT_TYPES = ImmutableSet.of(XMLSchema.FLOAT, XMLSchema.DECIMAL);
 	private static final ImmutableSet<IRI> SHORT_TYPES = ImmutableSet.of(XMLSchema.SHORT, XMLSchema.UNSIGNED_SHORT);
 	private static final ImmutableSet<IRI> BYTE_TYPES = ImmutableSet.of(XMLSchema.BYTE, XMLSchema.UNSIGNED_BYTE);
+	private static final ImmutableSet<IRI> STRING_TYPES = ImmutableSet.of(XMLSchema.STRING, RDFS.LITERAL, RDF.LANGSTRING);
+
+	/**
+	 * The decoders for the datatypes supported out of the box
+	 */
+	private static final ImmutableMap<IRI, LiteralDecoder<?>> DEFAULT_DECODERS;
+
+	/**
+	 * Decoder for {@code char} properties, whose values are written as single character strings
+	 */
+	private static final LiteralDecoder<Character> CHAR_DECODER = theLiteral -> {
+		if (theLiteral.getLabel().length() == 1) {
+			return theLiteral.getLabel().charAt(0);
+		}
+		else {
+			throw new RDFMappingException("Bean type is char, but value is a a string.");
+		}
+	};
+
+	static {
+		final Map<IRI, LiteralDecoder<?>> aDecoders = Maps.newHashMap();
+
+		STRING_TYPES.forEach(theType -> aDecoders.put(theType, Literal::getLabel));
+		INTEGER_TYPES.forEach(theType -> aDecoders.put(theType, theLiteral -> Integer.parseInt(theLiteral.getLabel())));
+		LONG_TYPES.forEach(theType -> aDecoders.put(theType, theLiteral -> Long.parseLong(theLiteral.getLabel())));
+		FLOAT_TYPES.forEach(theType -> aDecoders.put(theType, theLiteral -> Float.valueOf(theLiteral.getLabel())));
+		SHORT_TYPES.forEach(theType -> aDecoders.put(theType, theLiteral -> Short.valueOf(theLiteral.getLabel())));
+		BYTE_TYPES.forEach(theType -> aDecoders.put(theType, theLiteral -> Byte.valueOf(theLiteral.getLabel())));
+
+		aDecoders.put(XMLSchema.BOOLEAN, theLiteral -> Boolean.valueOf(theLiteral.getLabel()));
+		aDecoders.put(XMLSchema.DOUBLE, theLiteral -> Double.valueOf(theLiteral.getLabel()));
+		aDecoders.put(XMLSchema.ANYURI, theLiteral -> {
+			try {
+				return new java.net.URI(theLiteral.getLabel());
+			}
+			catch (URISyntaxException e) {
+				LOGGER.warn("URI syntax exception converting literal value which is not a valid URI {} ", theLiteral.getLabel());
+				return null;
+			}
+		});
+		aDecoders.put(XMLSchema.DATE, theLiteral -> Dates2.asDay(theLiteral.getLabel()));
+		aDecoders.put(XMLSchema.DATETIME, theLiteral -> Dates2.asDate(theLiteral.getLabel()));
+		aDecoders.put(XMLSchema.TIME, theLiteral -> new Date(Long.parseLong(theLiteral.getLabel())));
+
+		DEFAULT_DECODERS = ImmutableMap.copyOf(aDecoders);
+	}
 
 	public static final String DEFAULT_NAMESPACE = "tag:complexible:pinto:";
 	public static final String DEFAULT_PREFIX = "";
@@ -105,10 +158,24 @@ public final class RDFMapper {
 	public static final IRI VALUE = SimpleValueFactory.getInstance().createIRI(DEFAULT_NAMESPACE, "_value");
 	public static final IRI HAS_ENTRY = SimpleValueFactory.getInstance().createIRI(DEFAULT_NAMESPACE, "_hasEntry");
 
+	/**
+	 * The namespace of the predicates used for the keys of a map written in its {@link MappingOptions#COMPACT_MAPS compact}
+	 * form
+	 */
+	public static final String MAP_KEY_NAMESPACE = DEFAULT_NAMESPACE + "_map:";
+
 	private final ImmutableBiMap<IRI, Class<?>> mMappings;
 
+	private final TypeResolver mTypes;
+
 	private final ImmutableMap<Class<?>, Function<Object, Resource>> mIdFunctions;
 
+	private final HashFunction mIdHash;
+
+	private final IdStrategy mIdStrategy;
+
+	private final IdStrategy.Context mIdContext;
+
 	private final ValueFactory mValueFactory;
 
 	private final Options mMappingOptions;
@@ -119,7 +186,22 @@ public final class RDFMapper {
 	private final Map<String, String> mNamespaces;
 	private final String mDefaultNamespace;
 
-	private final Map<Class<?>, RDFCodec<?>> mCodecs;
+	private final ImmutableMap<Class<?>, RDFCodec<?>> mCodecs;
+
+	/**
+	 * The codec, or the absence of one, found for every class that has been looked up, see {@link #codec(Class)}
+	 */
+	private final Map<Class<?>, Optional<RDFCodec<?>>> mCodecsByClass = new ConcurrentHashMap<>();
+
+	private final ImmutableMap<IRI, LiteralDecoder<?>> mDecoders;
+
+	private final PropertyAccessors mAccessors;
+
+	private final Map<Class<?>, ClassPlan> mPlans = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, EnumTable<?>> mEnums = new ConcurrentHashMap<>();
+
+	private final MapperStats mStats = new MapperStats();
 
 	static {
 		PropertyUtils.addBeanIntrospector(new FluentPropertyBeanIntrospector());
@@ -140,17 +222,25 @@ public final class RDFMapper {
 	private RDFMapper(final Map<IRI, Class<?>> theMappings,
 					  final Map<Class<?>, Function<Object, Resource>> theIdFunctions,
 					  final Map<String, String> theNamespaces,
-					  final Map<Class<?>, RDFCodec<?>> theCodecs, final Options theMappingOptions, final Factories fact) {
+					  final Map<Class<?>, RDFCodec<?>> theCodecs, final Options theMappingOptions, final Factories fact,
+					  final PropertyAccessors theAccessors, final Map<IRI, LiteralDecoder<?>> theDecoders,
+					  final IdStrategy theIdStrategy) {
 
 		mCollectionFactory = fact.c;
 		mMapFactory = fact.m;
 		mValueFactory = fact.v;
 		mNamespaces = theNamespaces;
-		mCodecs = theCodecs;
+		mCodecs = ImmutableMap.copyOf(theCodecs);
 		mMappingOptions = theMappingOptions;
+		mAccessors = theAccessors;
+		mDecoders = ImmutableMap.copyOf(theDecoders);
 
 		mMappings = ImmutableBiMap.copyOf(theMappings);
+		mTypes = new TypeResolver(mMappings);
 		mIdFunctions = ImmutableMap.copyOf(theIdFunctions);
+		mIdHash = theMappingOptions.get(MappingOptions.ID_HASH);
+		mIdStrategy = theIdStrategy != null ? theIdStrategy : IdStrategies.toStringHash(mIdHash);
+		mIdContext = new IdContext();
 
 		mDefaultNamespace = mNamespaces.get(DEFAULT_PREFIX);
 	}
@@ -182,7 +272,7 @@ public final class RDFMapper {
 		if(theGraph.subjects().size() > 1)
 			throw new RDFMappingException("Multiple subjects found, need to specify the identifier of the object to create.");
 
-		RDFCodec<T> aCodec = (RDFCodec<T>) mCodecs.get(theClass);
+		RDFCodec<T> aCodec = codec(theClass);
 
 		if (theGraph.subjects().isEmpty())
 			return aCodec == null ? newInstance(theClass)
@@ -192,6 +282,43 @@ public final class RDFMapper {
 				: readValue(theGraph, theClass, theGraph.subjects().iterator().next());
 	}
 
+	/**
+	 * Create an {@link RDFHandler} which reads instances of the class from RDF as it is parsed, rather than from a
+	 * {@link Model}.  The input must be grouped by subject; each instance of the class's {@code rdf:type} starts a
+	 * new object, and the subjects which follow it, up to the next instance, are treated as its nested objects.  Each
+	 * object is passed to the consumer as soon as the input moves on to the next instance.  An object shared by several
+	 * instances is written with the first of them only, so the nested objects already read are kept to resolve later
+	 * references to them; memory use grows with the nested objects of the input, but not with the number of instances.
+	 *
+	 * <pre>{@code
+	 * RDFParser aParser = Rio.createParser(RDFFormat.NTRIPLES);
+	 * aParser.setRDFHandler(aMapper.reader(Person.class, aPeople::add));
+	 * aParser.parse(aInput, "");
+	 * }</pre>
+	 *
+	 * @param theClass      the type of the objects to read
+	 * @param theConsumer   the consumer of the objects
+	 * @return              the handler
+	 *
+	 * @throws RDFMappingException if the class is not mapped to an {@code rdf:type}
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> RDFHandler reader(final Class<T> theClass, final Consumer<? super T> theConsumer) {
+		final IRI aType = getType(theClass);
+
+		if (aType == null) {
+			throw new RDFMappingException(String.format("%s is not mapped to an rdf:type, its instances cannot be found", theClass));
+		}
+
+		final RDFCodec<T> aCodec = codec(theClass);
+
+		return new BeanRDFHandler<>(aType,
+		                            (theGraph, theObj) -> aCodec != null
+		                                                  ? aCodec.readValue(theGraph, theObj)
+		                                                  : readValue(ReadContext.of(theGraph), theClass, theObj),
+		                            theConsumer);
+	}
+
 	private static boolean isIgnored(final PropertyDescriptor thePropertyDescriptor) {
 		// we'll ignore getClass() on the bean
 		/*if (thePropertyDescriptor.getName().equals("class")
@@ -219,33 +346,108 @@ public final class RDFMapper {
 	 * @throws RDFMappingException if the object could not be created
 	 */
 	public <T> T readValue(final Model theGraph, final Class<T> theClass, final Resource theObj) {
+		return readValue(ReadContext.of(theGraph), theClass, theObj);
+	}
+
+	/**
+	 * Read all the instances of the class from the RDF.  The instances are the resources in the graph whose
+	 * {@code rdf:type} is the type the class is mapped to, either with {@link RdfsClass} or
+	 * {@link Builder#map(IRI, Class)}.  All the instances are read in a single pass over the graph and resources
+	 * which are referenced by more than one instance are only created once.
+	 *
+	 * @param theGraph  the RDF
+	 * @param theClass  the type of the objects to read
+	 *
+	 * @return          the objects, in no particular order
+	 *
+	 * @throws RDFMappingException if the class is not mapped to an {@code rdf:type}, or an object could not be created
+	 */
+	public <T> List<T> readAll(final Model theGraph, final Class<T> theClass) {
+		return stream(theGraph, theClass).collect(Collectors.toList());
+	}
+
+	/**
+	 * Return a stream of the instances of the class in the graph, as found by {@link #readAll(Model, Class)}.  The
+	 * graph is indexed once, up front, and the beans are read lazily as the stream is consumed.
+	 *
+	 * <p>The stream can be made {@link Stream#parallel() parallel}; splitting the stream partitions the instances and
+	 * the parts share the index of the graph.  Resources referenced by more than one instance are created once per part
+	 * of the stream rather than once overall, so when the stream is parallel, two instances may refer to different, but
+	 * equal, copies of the same resource.  The graph, and any {@link RDFCodec codecs}, must be safe to read from
+	 * multiple threads, which is true of any graph that is not modified while the stream is consumed.</p>
+	 *
+	 * @param theGraph  the RDF
+	 * @param theClass  the type of the objects to read
+	 *
+	 * @return          the objects, in no particular order
+	 *
+	 * @throws RDFMappingException if the class is not mapped to an {@code rdf:type}, or an object could not be created
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> stream(final Model theGraph, final Class<T> theClass) {
+		final IRI aType = getType(theClass);
+
+		if (aType == null) {
+			throw new RDFMappingException(String.format("%s is not mapped to an rdf:type, its instances cannot be found", theClass));
+		}
+
+		final ModelIndex aIndex = ModelIndex.of(theGraph);
+		final RDFCodec<T> aCodec = codec(theClass);
+
+		final BiFunction<ReadContext, Resource, T> aReader = aCodec != null
+		                                                     ? (theContext, theObj) -> aCodec.readValue(theGraph, theObj)
+		                                                     : (theContext, theObj) -> readValue(theContext, theClass, theObj);
+
+		return StreamSupport.stream(new BeanSpliterator<>(aIndex, aIndex.instances(aType), aReader), false);
+	}
+
+	private <T> T readValue(final ReadContext theContext, final Class<T> theClass, final Resource theObj) {
 		if (theClass == null) {
 			return null;
 		}
 
-		final T aInst = newInstance(theClass);
+		final T aExisting = theContext.get(theObj, theClass);
+
+		if (aExisting != null) {
+			return aExisting;
+		}
+
+		final ClassPlan aPlan = plan(theClass);
+
+		final T aInst = aPlan.mapping() != null ? theClass.cast(aPlan.mapping().newInstance()) : newInstance(theClass);
 
 		if (aInst instanceof Identifiable) {
 			((Identifiable)aInst).id(theObj);
 		}
 
-		for (PropertyDescriptor aDescriptor : PropertyUtils.getPropertyDescriptors(aInst)) {
-			if (isIgnored(aDescriptor)) {
-				continue;
-			}
-
-			final IRI aProperty = getProperty(aDescriptor);
+		// registered before the properties are read so that a reference back to this resource, from anywhere in the
+		// graph below it, gets this instance rather than starting a new copy, which is what lets cycles terminate
+		theContext.put(theObj, aInst);
 
-			Collection<Value> aValues = theGraph.stream().filter(Statements.subjectIs(theObj).and(Statements.predicateIs(aProperty))).map(Statement::getObject).collect(Collectors.toList());
+		for (PropertyPlan aProperty : aPlan.properties()) {
+			final Collection<Value> aValues = theContext.index().objects(theObj, aProperty.iri());
 
 			Object aObj;
 
 			if (aValues.isEmpty()) {
 				continue;
 			}
-			else if (Collection.class.isAssignableFrom(aDescriptor.getPropertyType())) {
-				final Collection<Object> aIterable = mCollectionFactory.create(aDescriptor);
-
+			else if (aValues.size() == 1 && PackedLiterals.isPacked(aValues.iterator().next())
+			         && (aProperty.isPacked() || (aProperty.kind() == PropertyPlan.Kind.COLLECTION
+			                                      && PackedLiterals.isElement(aProperty.valueClass())))) {
+				// packed collections are read whether or not the property would be packed when written
+				final Literal aLiteral = (Literal) aValues.iterator().next();
+
+				aObj = aProperty.type().isArray()
+				       ? PackedLiterals.read(aLiteral, aProperty.type())
+				       : PackedLiterals.read(aLiteral, aProperty.valueClass(),
+				                            mCollectionFactory.create(aProperty.descriptor(), PackedLiterals.size(aLiteral)));
+			}
+			else if (aProperty.isPacked() && aProperty.type().isArray()) {
+				throw new RDFMappingException(String.format("Property type of %s is %s, expected a single packed literal, but found %s",
+				                                            aProperty.name(), aProperty.type().getSimpleName(), aValues));
+			}
+			else if (aProperty.kind() == PropertyPlan.Kind.COLLECTION) {
 				Collection<Value> aElems = Lists.newArrayListWithCapacity(aValues.size());
 
 				// this will allow the mixing of RDF lists of values with single values.  in "well-formed" data that
@@ -253,25 +455,41 @@ public final class RDFMapper {
 				// here, and this will cover one or more list assertions as well as multiple property assertions forming
 				// the list as well as the mix of both
 				for (Value aValue : aValues) {
-					if (aValue instanceof Resource && Models2.isList(theGraph, (Resource) aValue)) {
-						aElems.addAll(Models2.asList(theGraph, (Resource) aValue));
+					if (aValue instanceof Resource && RDFLists.isList(theContext.index(), (Resource) aValue)) {
+						aElems.addAll(RDFLists.asList(theContext.index(), (Resource) aValue));
 					}
 					else {
 						aElems.add(aValue);
 					}
 				}
 
-				aElems.stream()
-				      .map(toObject(theGraph, aDescriptor)::apply)
-				      .forEach(aIterable::add);
+				if (aProperty.enums() != null && EnumSet.class.isAssignableFrom(aProperty.type())) {
+					aObj = toEnumSet(aProperty.enums(), aElems);
+				}
+				else {
+					final Collection<Object> aIterable = mCollectionFactory.create(aProperty.descriptor(), aElems.size());
 
-				aObj = aIterable;
+					try {
+						aElems.stream()
+						      .map(toObject(theContext, aProperty)::apply)
+						      .map(theElem -> toElementType(aProperty, theElem))
+						      .forEach(aIterable::add);
+					}
+					catch (ClassCastException e) {
+						// collections such as the primitive backed lists reject elements which are not of the element type
+						throw new RDFMappingException(String.format("Could not add the values of %s to its %s: %s",
+						                                            aProperty.name(), aIterable.getClass().getSimpleName(),
+						                                            e.getMessage()), e);
+					}
+
+					aObj = aIterable;
+				}
 			}
-			else if (Map.class.isAssignableFrom(aDescriptor.getPropertyType())) {
+			else if (aProperty.kind() == PropertyPlan.Kind.MAP) {
 				if (aValues.size() > 1) {
 					if (mMappingOptions.is(MappingOptions.IGNORE_CARDINALITY_VIOLATIONS)) {
 						LOGGER.warn("Property type of {} is Map, expected a single value, but {} were found.  MappingOptions is set to ignore this, so using only the first value.",
-						            aDescriptor.getName(), aValues.size());
+						            aProperty.name(), aValues.size());
 					}
 					else {
 						throw new RDFMappingException(String.format("%s values found, but property type is Map, one value expected",
@@ -281,35 +499,37 @@ public final class RDFMapper {
 
 				Value aPropValue = aValues.iterator().next();
 
-				final Map<Object,Object> aMap = mMapFactory.create(aDescriptor);
+				final Map<Object,Object> aMap = mMapFactory.create(aProperty.descriptor());
 
-				for (Value aMapEntry : theGraph.filter((Resource) aPropValue, HAS_ENTRY, null).objects()) {
-					final Value aKey = theGraph.stream().filter(Statements.subjectIs((Resource) aMapEntry).and(Statements.predicateIs(KEY))).map(Statement::getObject).findFirst().orElse(null);
-					final Value aValue = theGraph.stream().filter(Statements.subjectIs((Resource) aMapEntry).and(Statements.predicateIs(VALUE))).map(Statement::getObject).findFirst().orElse(null);
+				for (Value aMapEntry : theContext.index().objects((Resource) aPropValue, HAS_ENTRY)) {
+					final Value aKey = theContext.index().object((Resource) aMapEntry, KEY).orElse(null);
+					final Value aValue = theContext.index().object((Resource) aMapEntry, VALUE).orElse(null);
 
-					Object aKeyObj = null, aValueObj = null;
+					final Object aKeyObj = aKey == null ? null : toMapObject(theContext, aKey);
+					final Object aValueObj = aValue == null ? null : toMapObject(theContext, aValue);
 
-					if (aKey instanceof Literal) {
-						// ok to pass null here, it won't be used
-						aKeyObj = valueToObject(aKey, theGraph, null);
-					}
-					else {
-						aKeyObj = readValue(theGraph, type(theGraph, (Resource) aKey), (Resource) aKey);
+					if (aKeyObj == null || aValueObj == null) {
+						LOGGER.warn("Skipping map entry, key or value could not be created.");
+						continue;
 					}
 
-					if (aValue instanceof Literal) {
-						aValueObj = valueToObject(aValue, theGraph, null);
-					}
-					else {
-						aValueObj = readValue(theGraph, type(theGraph, (Resource) aValue), (Resource) aValue);
+					aMap.put(aKeyObj, aValueObj);
+				}
+
+				// entries in the compact form where the key is the predicate, see MappingOptions#COMPACT_MAPS
+				for (Map.Entry<IRI, List<Value>> aEntry : theContext.index().properties((Resource) aPropValue).entrySet()) {
+					if (!aEntry.getKey().stringValue().startsWith(MAP_KEY_NAMESPACE)) {
+						continue;
 					}
 
-					if (aKeyObj == null || aValueObj == null) {
-						LOGGER.warn("Skipping map entry, key or value could not be created.");
+					final Object aValueObj = toMapObject(theContext, aEntry.getValue().get(0));
+
+					if (aValueObj == null) {
+						LOGGER.warn("Skipping map entry, value could not be created.");
 						continue;
 					}
 
-					aMap.put(aKeyObj, aValueObj);
+					aMap.put(mapKey(aEntry.getKey()), aValueObj);
 				}
 
 				aObj = aMap;
@@ -318,24 +538,24 @@ public final class RDFMapper {
 				if (aValues.size() > 1) {
 					if (mMappingOptions.is(MappingOptions.IGNORE_CARDINALITY_VIOLATIONS)) {
 						LOGGER.warn("Property type of {} is {}, expected a single value, but {} were found.  MappingOptions is set to ignore this, so using only the first value.",
-						            aDescriptor.getName(), aDescriptor.getPropertyType(), aValues.size());
+						            aProperty.name(), aProperty.type(), aValues.size());
 					}
 					else {
 						throw new RDFMappingException(String.format("%s values found, but property type is %s",
-						                                            aValues.size(), aDescriptor.getPropertyType()));
+						                                            aValues.size(), aProperty.type()));
 					}
 				}
 
 				final Value aValue = aValues.iterator().next();
 
-				aObj = valueToObject(aValue, theGraph, aDescriptor);
+				aObj = valueToObject(aValue, theContext, aProperty);
 			}
 
 			try {
 				// this will fail spectacularly if there is a mismatch between the incoming RDF and what the bean
 				// defines.  we can either check that eagerly and fail spectacularly then, or do it here and be
 				// lazy.  we'll go with lazy
-				PropertyUtils.setProperty(aInst, aDescriptor.getName(), aObj);
+				aProperty.accessor().set(aInst, aObj);
 			}
 			catch (Exception e) {
 				Throwables.propagateIfInstanceOf(e, RDFMappingException.class);
@@ -346,20 +566,104 @@ public final class RDFMapper {
 		return aInst;
 	}
 
-	private Class<?> type(final Model theGraph, final Resource theValue) {
-		final Iterable<Resource> aTypes = Models2.getTypes(theGraph, theValue);
-		for (Resource aType : aTypes) {
-			final Class<?> aClass = mMappings.get(aType);
-			if (aClass != null){
-				return aClass;
-			}
+	/**
+	 * Create the key or the value of a map entry.  Literals are read with the default decoder of their datatype and
+	 * resources as the class mapped to their {@code rdf:type}.
+	 */
+	private Object toMapObject(final ReadContext theContext, final Value theValue) {
+		if (theValue instanceof Literal) {
+			// ok to pass null here, it won't be used
+			return valueToObject(theValue, theContext, null);
+		}
+		else {
+			return readValue(theContext, type(theContext, (Resource) theValue), (Resource) theValue);
 		}
+	}
 
-		return null;
+	/**
+	 * Return the predicate used for the key of an entry of a map in its compact form
+	 */
+	private IRI mapKeyProperty(final Object theKey) {
+		try {
+			return mValueFactory.createIRI(MAP_KEY_NAMESPACE, URLEncoder.encode(theKey.toString(), Charsets.UTF_8.name()));
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new AssertionError(e);
+		}
 	}
 
-	private Function<Value, Object> toObject(final Model theGraph, final PropertyDescriptor theDescriptor) {
-		return theInput -> valueToObject(theInput, theGraph, theDescriptor);
+	/**
+	 * Return the key of a map entry from the predicate used for it in the compact form of the map
+	 */
+	private static String mapKey(final IRI theKey) {
+		try {
+			return URLDecoder.decode(theKey.stringValue().substring(MAP_KEY_NAMESPACE.length()), Charsets.UTF_8.name());
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private Class<?> type(final ReadContext theContext, final Resource theValue) {
+		return mTypes.first(theContext.index().objects(theValue, RDF.TYPE));
+	}
+
+	private Function<Value, Object> toObject(final ReadContext theContext, final PropertyPlan theProperty) {
+		return theInput -> valueToObject(theInput, theContext, theProperty);
+	}
+
+	/**
+	 * Convert a number read for an element of a collection to the element type of the property.  The datatype of a
+	 * literal need not match the element type exactly, e.g. an {@code xsd:long} read into a {@code List<Integer>}, but
+	 * the value must fit in the element type.
+	 *
+	 * @throws RDFMappingException if the value is out of the range of the element type, or not a whole number when the
+	 *                             element type is integral
+	 */
+	private static Object toElementType(final PropertyPlan theProperty, final Object theValue) {
+		if (!(theValue instanceof Number) || theProperty.valueClass().isInstance(theValue)) {
+			return theValue;
+		}
+
+		final Number aNumber = (Number) theValue;
+		final Class<?> aType = theProperty.valueClass();
+
+		try {
+			if (aType == Double.class) {
+				return aNumber.doubleValue();
+			}
+			else if (aType == Float.class) {
+				final float aFloat = aNumber.floatValue();
+
+				if (Float.isInfinite(aFloat) && !Double.isInfinite(aNumber.doubleValue())) {
+					throw new ArithmeticException("Overflow");
+				}
+
+				return aFloat;
+			}
+
+			final BigDecimal aDecimal = new BigDecimal(aNumber.toString());
+
+			if (aType == Integer.class) {
+				return aDecimal.intValueExact();
+			}
+			else if (aType == Long.class) {
+				return aDecimal.longValueExact();
+			}
+			else if (aType == Short.class) {
+				return aDecimal.shortValueExact();
+			}
+			else if (aType == Byte.class) {
+				return aDecimal.byteValueExact();
+			}
+			else {
+				return theValue;
+			}
+		}
+		catch (ArithmeticException | NumberFormatException e) {
+			throw new RDFMappingException(String.format("Value %s of %s cannot be represented as a %s",
+			                                            theValue, theProperty.name(), aType.getSimpleName()), e);
+		}
 	}
 
 	private String expand(final String theValue) {
@@ -388,152 +692,405 @@ public final class RDFMapper {
 	 *                                          into RDF.
 	 */
 	public <T> Model writeValue(final T theValue) {
-		return write(theValue).model();
+		final Model aGraph = Models2.newModel();
+
+		writeValue(theValue, aGraph);
+
+		return aGraph;
+	}
+
+	/**
+	 * Write the given value as RDF into an existing model.
+	 *
+	 * @param theValue  the value to write
+	 * @param theGraph  the model the statements are added to
+	 * @return          the rdf:ID of the value
+	 *
+	 * @throws  UnidentifiableObjectException   thrown when an rdf:ID cannot be created for {@code theValue}
+	 * @throws  RDFMappingException             indicates a general error, such as issues transforming a property value
+	 *                                          into RDF.
+	 */
+	public <T> Resource writeValue(final T theValue, final Model theGraph) {
+		return write(theValue, StatementSink.of(theGraph));
+	}
+
+	/**
+	 * Write the given value as RDF, passing each statement to the handler as it is created rather than collecting
+	 * them in a {@link Model} first.  The handler is neither started nor ended, so any number of values can be written
+	 * to the same handler, such as a Rio writer, between its {@link RDFHandler#startRDF() start} and
+	 * {@link RDFHandler#endRDF() end}.
+	 *
+	 * @param theValue      the value to write
+	 * @param theHandler    the handler which receives the statements
+	 * @return              the rdf:ID of the value
+	 *
+	 * @throws  UnidentifiableObjectException   thrown when an rdf:ID cannot be created for {@code theValue}
+	 * @throws  RDFMappingException             indicates a general error, such as issues transforming a property value
+	 *                                          into RDF, or the handler failing to handle a statement
+	 */
+	public <T> Resource writeValue(final T theValue, final RDFHandler theHandler) {
+		return write(theValue, StatementSink.of(theHandler, mValueFactory));
+	}
+
+	/**
+	 * Return a {@link Collector} which writes each element of a stream as RDF into a single {@link Model}, e.g.
+	 * {@code beans.parallelStream().collect(aMapper.toModel())}.  When the stream is parallel, each thread writes into
+	 * its own model and the models are merged once the elements are written.
+	 *
+	 * @return  the collector
+	 *
+	 * @throws  UnidentifiableObjectException   thrown when an rdf:ID cannot be created for an element of the stream
+	 * @throws  RDFMappingException             indicates a general error, such as issues transforming a property value
+	 *                                          into RDF.
+	 */
+	public <T> Collector<T, ?, Model> toModel() {
+		return Collector.of(Models2::newModel,
+		                    (theGraph, theValue) -> writeValue(theValue, theGraph),
+		                    (theGraph, theOther) -> {
+			                    // merge the smaller model into the larger one
+			                    if (theGraph.size() < theOther.size()) {
+				                    theOther.addAll(theGraph);
+				                    return theOther;
+			                    }
+
+			                    theGraph.addAll(theOther);
+			                    return theGraph;
+		                    },
+		                    Collector.Characteristics.IDENTITY_FINISH,
+		                    Collector.Characteristics.UNORDERED);
+	}
+
+	/**
+	 * Write all the values as RDF into an existing model.  The values are written as a single batch; an object
+	 * referenced by several of the values, or several times over, is written once.  Objects are compared by identity,
+	 * a different object with the same rdf:ID as one already written repeats the statements the two have in common,
+	 * unless {@link MappingOptions#DISTINCT_STATEMENTS} is set.
+	 *
+	 * <p>The batch keeps a reference to every object it writes until it completes, so memory grows with the number of
+	 * distinct objects in the batch, though not with the statements written.  With
+	 * {@link MappingOptions#DISTINCT_STATEMENTS} every statement written is kept as well, which costs about as much as
+	 * building a {@link Model} of the output.</p>
+	 *
+	 * @param theValues the values to write
+	 * @param theGraph  the model the statements are added to
+	 *
+	 * @throws  UnidentifiableObjectException   thrown when an rdf:ID cannot be created for one of the values
+	 * @throws  RDFMappingException             indicates a general error, such as issues transforming a property value
+	 *                                          into RDF.
+	 */
+	public <T> void writeAll(final Iterable<? extends T> theValues, final Model theGraph) {
+		writeAll(theValues, StatementSink.of(theGraph));
+	}
+
+	/**
+	 * Write all the values as RDF, as a single batch, passing each statement to the handler as it is created.  Like
+	 * {@link #writeValue(Object, RDFHandler)} the handler is neither started nor ended.  See
+	 * {@link #writeAll(Iterable, Model)} for which objects are written, and the memory a batch holds on to.
+	 *
+	 * @param theValues     the values to write
+	 * @param theHandler    the handler which receives the statements
+	 *
+	 * @throws  UnidentifiableObjectException   thrown when an rdf:ID cannot be created for one of the values
+	 * @throws  RDFMappingException             indicates a general error, such as issues transforming a property value
+	 *                                          into RDF, or the handler failing to handle a statement
+	 */
+	public <T> void writeAll(final Iterable<? extends T> theValues, final RDFHandler theHandler) {
+		writeAll(theValues, StatementSink.of(theHandler, mValueFactory));
+	}
+
+	/**
+	 * Return the statistics of the writes made by this mapper
+	 *
+	 * @return  the statistics
+	 */
+	public MapperStats stats() {
+		return mStats;
+	}
+
+	private void writeAll(final Iterable<?> theValues, final StatementSink theSink) {
+		final long aStart = System.nanoTime();
+		final WriteContext aContext = newContext(theSink);
+
+		long aCount = 0;
+
+		try {
+			for (Object aValue : theValues) {
+				write(aValue, aContext);
+
+				// write each value completely before the next, the pending writes would otherwise grow with the batch
+				aContext.flush();
+				aCount++;
+			}
+		}
+		finally {
+			mStats.written(aCount, aContext.statements(), System.nanoTime() - aStart);
+		}
+	}
+
+	private Resource write(final Object theValue, final StatementSink theSink) {
+		final long aStart = System.nanoTime();
+		final WriteContext aContext = newContext(theSink);
+
+		final Resource aId = write(theValue, aContext);
+
+		aContext.flush();
+
+		mStats.written(1, aContext.statements(), System.nanoTime() - aStart);
+
+		return aId;
+	}
+
+	private WriteContext newContext(final StatementSink theSink) {
+		return mMappingOptions.is(MappingOptions.DISTINCT_STATEMENTS)
+		       ? WriteContext.distinct(theSink, mValueFactory)
+		       : new WriteContext(theSink);
 	}
 
+	/**
+	 * Write the value.  The statements about a bean are {@link WriteContext#defer deferred}, only its rdf:ID is
+	 * created right away.  Values which have already been written in this context are not written again.
+	 *
+	 * @param theValue      the value to write
+	 * @param theContext    the current write
+	 * @return              the rdf:ID of the value
+	 */
 	@SuppressWarnings("unchecked")
-	private <T> ResourceBuilder write(final T theValue) {
+	private <T> Resource write(final T theValue, final WriteContext theContext) {
+		final Resource aWritten = theContext.written(theValue);
+
+		if (aWritten != null) {
+			return aWritten;
+		}
+
 		// before we do anything, do we have a custom codec for this?
-		RDFCodec<T> aCodec = (RDFCodec<T>)mCodecs.get(theValue.getClass());
-		if (aCodec != null) {
-			return (ResourceBuilder) aCodec.writeValue(theValue);
-			/*final Value aResult = aCodec.writeValue(theValue);
+		RDFCodec<T> aCodec = codec(theValue.getClass());
+		if (aCodec instanceof LiteralCodec) {
+			throw new RDFMappingException(String.format("The codec for %s writes values as literals, a literal cannot be written on its own", theValue.getClass()));
+		}
+		else if (aCodec != null) {
+			final Value aResult = aCodec.writeValue(theValue);
+
+			final Resource aId;
 
 			if (aResult instanceof ResourceBuilder) {
-				return (ResourceBuilder) aResult;
+				theContext.sink().addAll(((ResourceBuilder) aResult).model());
+				aId = ((ResourceBuilder) aResult).getResource();
+			}
+			else if (aResult instanceof Resource) {
+				aId = (Resource) aResult;
 			}
 			else {
-				return new ResourceBuilder(id(theValue)).addType(getType(theValue)).addProperty(VALUE, aResult);
-			}*/
+				throw new RDFMappingException(String.format("The codec for %s did not write the value as a resource", theValue.getClass()));
+			}
+
+			theContext.written(theValue, aId);
+
+			return aId;
 		}
 
 		final Resource aId = id(theValue);
 
-		final IRI aType = getType(theValue);
-
-		try {
-			final ModelBuilder aGraph = new ModelBuilder(mValueFactory);
+		theContext.written(theValue, aId);
+		theContext.defer(() -> writeProperties(theValue, aId, theContext));
 
-			ResourceBuilder aBuilder = aGraph.instance(aType, aId);
+		return aId;
+	}
 
-			for (Map.Entry<String, Object> aEntry : PropertyUtils.describe(theValue).entrySet()) {
-				final PropertyDescriptor aDescriptor = PropertyUtils.getPropertyDescriptor(theValue, aEntry.getKey());
+	private void writeProperties(final Object theValue, final Resource theId, final WriteContext theContext) {
+		final ClassPlan aPlan = plan(theValue.getClass());
 
-				if(!isIgnored(aDescriptor)){
-					final IRI aProperty = getProperty(aDescriptor);
+		try {
+			if (aPlan.type() != null) {
+				theContext.sink().add(theId, RDF.TYPE, aPlan.type());
+			}
 
-					if(aProperty != null){
-						final Object aObj = aEntry.getValue();
+			for (PropertyPlan aProperty : aPlan.properties()) {
+				if (!aProperty.isReadable()) {
+					continue;
+				}
 
-						if (aObj != null) {
-							setValue(aGraph, aBuilder, aDescriptor, aProperty, aObj);
-						}
-					}
+				final Object aObj = aProperty.accessor().get(theValue);
 
+				if (aObj != null) {
+					setValue(theContext, theId, aProperty, aProperty.iri(), aObj);
 				}
 			}
-
-			return aBuilder;
 		}
-		catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-			Throwables.propagateIfInstanceOf(e, RDFMappingException.class);
+		catch (ReflectiveOperationException e) {
 			throw new RDFMappingException(e);
 		}
 	}
 
+	/**
+	 * Add the statement to the sink unless the value is null, which is the case for values, such as a literal with an
+	 * invalid datatype, that could not be created
+	 */
+	private static void add(final StatementSink theSink, final Resource theSubject, final IRI theProperty, final Value theValue) {
+		if (theValue != null) {
+			theSink.add(theSubject, theProperty, theValue);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
-	private void setValue(final ModelBuilder theGraph, final ResourceBuilder theBuilder,
-	                      final PropertyDescriptor thePropertyDescriptor,
+	private void setValue(final WriteContext theContext, final Resource theSubject,
+	                      final PropertyPlan thePlan,
 	                      final IRI theProperty, final Object theObj) {
 
-		if (Beans.isPrimitive(theObj)) {
-			theBuilder.addProperty(theProperty, toLiteral(theObj, getPropertyAnnotation(thePropertyDescriptor)));
+		final StatementSink aSink = theContext.sink();
+
+		if (thePlan != null && thePlan.isPacked()) {
+			aSink.add(theSubject, theProperty, PackedLiterals.write(mValueFactory, theObj));
 		}
-		else if (Enum.class.isAssignableFrom(theObj.getClass())) {
-			theBuilder.addProperty(theProperty, enumToURI((Enum) theObj));
+		else if (Beans.isPrimitive(theObj)) {
+			add(aSink, theSubject, theProperty, toLiteral(theObj, thePlan));
+		}
+		else if (theObj instanceof Enum) {
+			add(aSink, theSubject, theProperty, enumToURI((Enum) theObj));
 		}
 		else if (Collection.class.isAssignableFrom(theObj.getClass())) {
 			final Collection<?> aCollection = (Collection<?>) theObj;
 
-			if (serializeCollectionsAsRDFList(thePropertyDescriptor)) {
+			if (serializeCollectionsAsRDFList(thePlan)) {
 				List<Value> aList = Lists.newArrayListWithExpectedSize(aCollection.size());
 
 				for (Object aVal : aCollection) {
-					if (Beans.isPrimitive(aVal)) {
-						aList.add(toLiteral(aVal, getPropertyAnnotation(thePropertyDescriptor)));
-					}
-					else {
-						ResourceBuilder aIndividual = write(aVal);
-						aList.add(aIndividual.getResource());
-						theBuilder.model().addAll(aIndividual.model());
+					final Value aValue = toValue(theContext, thePlan, aVal);
+
+					if (aValue != null) {
+						aList.add(aValue);
 					}
 				}
 
 				if (!aList.isEmpty()) {
-					theBuilder.addProperty(theProperty, Models2.toList(aList, theBuilder.model()));
+					final Resource aHead = mValueFactory.createBNode();
+
+					theContext.defer(() -> RDFLists.write(aSink, mValueFactory, aHead, aList));
+
+					aSink.add(theSubject, theProperty, aHead);
 				}
 			}
 			else {
 				for (Object aVal : aCollection) {
 					// this would not handle collections of collections, does that matter?
-					if (Beans.isPrimitive(aVal)) {
-						theBuilder.addProperty(theProperty, toLiteral(aVal, getPropertyAnnotation(thePropertyDescriptor)));
-					}
-					else {
-						theBuilder.addProperty(theProperty, write(aVal));
-					}
+					add(aSink, theSubject, theProperty, toValue(theContext, thePlan, aVal));
 				}
 			}
 		}
 		else if (Map.class.isAssignableFrom(theObj.getClass())) {
-			Map<Class<?>, Class<?>> aMap = (Map<Class<?>, Class<?>>) theObj;
+			Map<Object, Object> aMap = (Map<Object, Object>) theObj;
 
-			if (!aMap.isEmpty()) {
-				ResourceBuilder aRes = theGraph.instance();
-				for (Map.Entry<Class<?>, Class<?>> aMapEntry : aMap.entrySet()) {
-					ResourceBuilder aEntryRes = theGraph.instance();
+			if (!aMap.isEmpty() && thePlan != null && thePlan.isCompactMap()) {
+				final Resource aRes = mValueFactory.createBNode();
 
-					setValue(theGraph, aEntryRes, null, KEY, aMapEntry.getKey());
-					setValue(theGraph, aEntryRes, null, VALUE, aMapEntry.getValue());
+				theContext.defer(() -> {
+					for (Map.Entry<Object, Object> aMapEntry : aMap.entrySet()) {
+						if (aMapEntry.getKey() != null && aMapEntry.getValue() != null) {
+							setValue(theContext, aRes, null, mapKeyProperty(aMapEntry.getKey()), aMapEntry.getValue());
+						}
+					}
+				});
 
-					aRes.addProperty(HAS_ENTRY, aEntryRes);
-				}
+				aSink.add(theSubject, theProperty, aRes);
+			}
+			else if (!aMap.isEmpty()) {
+				final Resource aRes = mValueFactory.createBNode();
 
-				theBuilder.addProperty(theProperty, aRes);
+				theContext.defer(() -> {
+					for (Map.Entry<Object, Object> aMapEntry : aMap.entrySet()) {
+						final Resource aEntryRes = mValueFactory.createBNode();
+
+						aSink.add(aRes, HAS_ENTRY, aEntryRes);
+
+						theContext.defer(() -> {
+							setValue(theContext, aEntryRes, null, KEY, aMapEntry.getKey());
+							setValue(theContext, aEntryRes, null, VALUE, aMapEntry.getValue());
+						});
+					}
+				});
+
+				aSink.add(theSubject, theProperty, aRes);
 			}
 		}
 		else {
-			RDFCodec<Object> aCodex = (RDFCodec<Object>) mCodecs.get(theObj.getClass());
-			if (aCodex != null) {
-				final Value aValue = aCodex.writeValue(theObj);
+			add(aSink, theSubject, theProperty, toValue(theContext, thePlan, theObj));
+		}
+	}
 
-				if (aValue instanceof ResourceBuilder) {
-					theBuilder.addProperty(theProperty, (ResourceBuilder) aValue);
-				}
-				else {
-					theBuilder.addProperty(theProperty, aValue);
+	/**
+	 * Return the RDF value of a single, non-collection, value of a property, writing the value first if it is a bean.
+	 * Values with a {@link LiteralCodec literal codec} are a single literal, those with any other codec are the
+	 * resource the codec created, whose description is added to the context's sink.
+	 */
+	@SuppressWarnings("unchecked")
+	private Value toValue(final WriteContext theContext, final PropertyPlan thePlan, final Object theObj) {
+		if (Beans.isPrimitive(theObj)) {
+			return toLiteral(theObj, thePlan);
+		}
+		else if (theObj instanceof Enum) {
+			return enumToURI((Enum) theObj);
+		}
+
+		final RDFCodec<Object> aCodec = codec(theObj.getClass());
+
+		if (aCodec == null) {
+			return write(theObj, theContext);
+		}
+
+		final Value aValue = aCodec.writeValue(theObj);
+
+		if (aValue instanceof ResourceBuilder) {
+			theContext.sink().addAll(((ResourceBuilder) aValue).model());
+			return ((ResourceBuilder) aValue).getResource();
+		}
+		else {
+			return aValue;
+		}
+	}
+
+	/**
+	 * Return the codec for the class.  That is the codec registered for the class itself, otherwise the codec of its
+	 * nearest superclass or interface which has one.  The result is cached, so the class hierarchy is only searched
+	 * the first time a class is seen.
+	 *
+	 * @param theClass  the class
+	 * @return          the codec, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> RDFCodec<T> codec(final Class<?> theClass) {
+		if (mCodecs.isEmpty()) {
+			return null;
+		}
+
+		return (RDFCodec<T>) mCodecsByClass.computeIfAbsent(theClass, theKey -> {
+			// subtypes come before their supertypes in the type set
+			for (Class<?> aType : TypeToken.of(theKey).getTypes().rawTypes()) {
+				final RDFCodec<?> aCodec = mCodecs.get(aType);
+
+				if (aCodec != null) {
+					return Optional.of(aCodec);
 				}
 			}
-			else {
-				theBuilder.addProperty(theProperty, write(theObj));
-			}
-		}
+
+			return Optional.empty();
+		}).orElse(null);
 	}
 
 	private IRI enumToURI(final Enum<?> theEnum) {
-		try {
-			final Iri aAnnotation = theEnum.getClass().getField(theEnum.name()).getAnnotation(Iri.class);
+		return enums(theEnum.getDeclaringClass()).iri(theEnum);
+	}
 
-			if (aAnnotation != null) {
-				return iri(aAnnotation.value());
-			}
-			else {
-				return mValueFactory.createIRI(mDefaultNamespace, theEnum.name());
-			}
-		}
-		catch (NoSuchFieldException e) {
-			throw new AssertionError();
-		}
+	/**
+	 * Return the {@link EnumTable table} for the enum, creating it the first time the enum is seen
+	 *
+	 * @param theClass  the enum class
+	 * @return          the table
+	 */
+	private EnumTable<?> enums(final Class<?> theClass) {
+		return mEnums.computeIfAbsent(theClass, theEnum -> EnumTable.of(theEnum, mValueFactory, mDefaultNamespace, this::iri));
+	}
+
+	private boolean serializeCollectionsAsRDFList(final PropertyPlan thePlan) {
+		return thePlan != null ? thePlan.isList() : mMappingOptions.is(MappingOptions.SERIALIZE_COLLECTIONS_AS_LISTS);
 	}
 
 	private boolean serializeCollectionsAsRDFList(final PropertyDescriptor thePropertyDescriptor) {
@@ -546,10 +1103,6 @@ public final class RDFMapper {
 		return aProperty != null && aProperty.isList();
 	}
 
-	private IRI getType(final Object theObj) {
-		return getType(theObj.getClass());
-	}
-
 	private IRI getType(final Class<?> theClass) {
 		IRI aType = mMappings.inverse().get(theClass);
 
@@ -566,187 +1119,80 @@ public final class RDFMapper {
 		return null;
 	}
 
-	private Object valueToObject(final Value theValue, final Model theGraph, final PropertyDescriptor theDescriptor) {
+	private Object valueToObject(final Value theValue, final ReadContext theContext, final PropertyPlan thePlan) {
 		if (theValue instanceof Literal) {
-			final Literal aLit = (Literal) theValue;
-			final IRI aDatatype = aLit.getDatatype() != null ? aLit.getDatatype() : null;
-
-			if (aDatatype == null || XMLSchema.STRING.equals(aDatatype) || RDFS.LITERAL.equals(aDatatype)) {
-				String aStr = aLit.getLabel();
-
-				if (theDescriptor != null && Character.TYPE.isAssignableFrom(theDescriptor.getPropertyType())) {
-					if (aStr.length() == 1) {
-						return aStr.charAt(0);
-					}
-					else {
-						throw new RDFMappingException("Bean type is char, but value is a a string.");
-					}
-				}
-				else {
-					return aStr;
-				}
-			}
-			else if (XMLSchema.BOOLEAN.equals(aDatatype)) {
-				return Boolean.valueOf(aLit.getLabel());
-			}
-			else if (INTEGER_TYPES.contains(aDatatype)) {
-				return Integer.parseInt(aLit.getLabel());
-			}
-			else if (LONG_TYPES.contains(aDatatype)) {
-				return Long.parseLong(aLit.getLabel());
-			}
-			else if (XMLSchema.DOUBLE.equals(aDatatype)) {
-				return Double.valueOf(aLit.getLabel());
-			}
-			else if (FLOAT_TYPES.contains(aDatatype)) {
-				return Float.valueOf(aLit.getLabel());
-			}
-			else if (SHORT_TYPES.contains(aDatatype)) {
-				return Short.valueOf(aLit.getLabel());
-			}
-			else if (BYTE_TYPES.contains(aDatatype)) {
-				return Byte.valueOf(aLit.getLabel());
-			}
-			else if (XMLSchema.ANYURI.equals(aDatatype)) {
-				try {
-					return new java.net.URI(aLit.getLabel());
-				}
-				catch (URISyntaxException e) {
-					LOGGER.warn("URI syntax exception converting literal value which is not a valid URI {} ", aLit.getLabel());
-					return null;
-				}
-			}
-			else if (XMLSchema.DATE.equals(aDatatype) || XMLSchema.DATETIME.equals(aDatatype)) {
-				return Dates2.asDate(aLit.getLabel());
-			}
-			else if (XMLSchema.TIME.equals(aDatatype)) {
-				return new Date(Long.parseLong(aLit.getLabel()));
-			}
-			else {
-				throw new RuntimeException("Unsupported or unknown literal datatype: " + aLit);
-			}
-		}
-		else if (theDescriptor != null && Enum.class.isAssignableFrom(theDescriptor.getPropertyType())) {
-			IRI aURI = (IRI) theValue;
-			Object[] aEnums = theDescriptor.getPropertyType().getEnumConstants();
-			for (Object aObj : aEnums) {
-				if (((Enum) aObj).name().equals(aURI.getLocalName())) {
-					return aObj;
-				}
+			final Literal aLit = (Literal) theValue;
+
+			if (thePlan != null && thePlan.codec() instanceof LiteralCodec) {
+				return ((LiteralCodec<?>) thePlan.codec()).decode(aLit);
 			}
 
-			for (Field aField : theDescriptor.getPropertyType().getFields()) {
-				Iri aAnnotation = aField.getAnnotation(Iri.class);
-				if (aAnnotation != null && aURI.equals(iri(aAnnotation.value()))) {
-					for (Object aObj : aEnums) {
-						if (((Enum) aObj).name().equals(aField.getName())) {
-							return aObj;
-						}
-					}
+			final IRI aDatatype = aLit.getDatatype() != null ? aLit.getDatatype() : XMLSchema.STRING;
 
-					// if the uri in the Iri annotation equals the value we're converting, but there was no field
-					// match, something bad has happened
-					throw new RDFMappingException("Expected enum value not found");
-				}
+			LiteralDecoder<?> aDecoder = thePlan != null ? thePlan.decoder(aDatatype) : null;
+
+			if (aDecoder == null) {
+				aDecoder = mDecoders.get(aDatatype);
 			}
 
-			LOGGER.info("{} maps to the enum {}, but does not correspond to any of the values of the enum.",
-			            aURI, theDescriptor.getPropertyType());
+			if (aDecoder == null) {
+				throw new RDFMappingException("Unsupported or unknown literal datatype: " + aLit);
+			}
 
-			return null;
+			return aDecoder.decode(aLit);
+		}
+		else if (thePlan != null && thePlan.enums() != null) {
+			return toEnum(thePlan.enums(), theValue);
 		}
 		else {
 			Resource aResource = (Resource) theValue;
 
-			final Class<?> aClass = pinpointClass(theGraph, aResource, theDescriptor);
+			final Class<?> aClass = pinpointClass(theContext, aResource, thePlan);
 
-			RDFCodec<?> aCodec = mCodecs.get(aClass);
+			RDFCodec<?> aCodec = aClass == thePlan.valueClass() ? thePlan.codec() : codec(aClass);
 			if (aCodec != null) {
-				return aCodec.readValue(theGraph, aResource);
+				return aCodec.readValue(theContext.index().graph(), aResource);
 			}
 			else {
-				return readValue(theGraph, aClass, aResource);
+				return readValue(theContext, aClass, aResource);
 			}
 		}
 	}
 
-	private Class<?> pinpointClass(final Model theGraph, final Resource theResource, final PropertyDescriptor theDescriptor) {
-		if(theDescriptor == null){
-			throw new NullPointerException();
+	private <E extends Enum<E>> E toEnum(final EnumTable<E> theTable, final Value theValue) {
+		final E aConstant = theTable.valueOf(theValue);
+
+		if (aConstant == null) {
+			LOGGER.info("{} maps to the enum {}, but does not correspond to any of the values of the enum.",
+			            theValue, theTable.enumClass());
 		}
-		Class<?> aClass = theDescriptor.getPropertyType();
 
-		if (Collection.class.isAssignableFrom(aClass)) {
-			// if the field we're assigning from is a collection, try and figure out the type of the thing
-			// we're creating from the collection
+		return aConstant;
+	}
 
-			Type[] aTypes = null;
+	private <E extends Enum<E>> EnumSet<E> toEnumSet(final EnumTable<E> theTable, final Collection<Value> theValues) {
+		final EnumSet<E> aSet = theTable.newSet();
 
-			if (theDescriptor.getReadMethod().getGenericParameterTypes().length > 0) {
-				aTypes = theDescriptor.getReadMethod().getGenericParameterTypes();
-			}
-			else if (theDescriptor.getWriteMethod().getGenericParameterTypes().length > 0) {
-				aTypes = theDescriptor.getWriteMethod().getGenericParameterTypes();
+		for (Value aValue : theValues) {
+			final E aConstant = toEnum(theTable, aValue);
+
+			if (aConstant != null) {
+				aSet.add(aConstant);
 			}
+		}
 
-			if (aTypes != null && aTypes.length >= 1) {
-				// first type argument to a collection is usually the one we care most about
-				if (aTypes[0] instanceof ParameterizedType && ((ParameterizedType)aTypes[0]).getActualTypeArguments().length > 0) {
-					Type aType = ((ParameterizedType)aTypes[0]).getActualTypeArguments()[0];
+		return aSet;
+	}
 
-					if (aType instanceof Class) {
-						aClass = (Class) aType;
-					}
-					else if (aType instanceof WildcardTypeImpl) {
-						WildcardTypeImpl aWildcard = (WildcardTypeImpl) aType;
-						// trying to suss out super v extends w/o resorting to string munging.
-						if (aWildcard.getLowerBounds().length == 0 && aWildcard.getUpperBounds().length > 0) {
-							// no lower bounds afaik indicates ? extends Foo
-							aClass = ((Class)aWildcard.getUpperBounds()[0]);
-						}
-						else if (aWildcard.getLowerBounds().length > 0) {
-							// lower & upper bounds I believe indicates something of the form Foo super Bar
-							aClass = ((Class)aWildcard.getLowerBounds()[0]);
-						}
-						else {
-							// shoot, we'll try the string hack that Adrian posted on the mailing list.
-							try {
-								aClass = Class.forName(aType.toString().split(" ")[2].substring(0, aTypes[0].toString().split(" ")[2].length()-1));
-							}
-							catch (Exception e) {
-								// everything has failed, let aClass be the default (theClass) and hope for the best
-							}
-						}
-					}
-					else {
-						// punt? wtf else could it be?
-						try {
-							aClass = Class.forName(aType.toString());
-						}
-						catch (ClassNotFoundException e) {
-							// oh well, we did the best we can
-						}
-					}
-				}
-				else if (aTypes[0] instanceof Class) {
-					aClass = (Class) aTypes[0];
-				}
-			}
-			else {
-				LOGGER.info("Could not find type for collection {}", aClass);
-			}
+	private Class<?> pinpointClass(final ReadContext theContext, final Resource theResource, final PropertyPlan thePlan) {
+		if (thePlan == null) {
+			throw new NullPointerException();
 		}
-		else if (!Classes.isInstantiable(aClass) || !Classes.hasDefaultConstructor(aClass)) {
 
-			Class<?> aCurr = null;
-			final Iterable<Resource> aRdfTypes = Models2.getTypes(theGraph, theResource);
-			for (Resource aType : aRdfTypes) {
-				Class<?> aMappedClass = mMappings.get(aType);
-				if (aMappedClass != null && (aCurr == null || aCurr.isAssignableFrom(aMappedClass))) {
+		Class<?> aClass = thePlan.valueClass();
 
-						aCurr = aMappedClass;
-				}
-			}
+		if (thePlan.isResolveType()) {
+			final Class<?> aCurr = mTypes.mostSpecific(theContext.index().objects(theResource, RDF.TYPE));
 
 			if (aCurr != null) {
 				aClass = aCurr;
@@ -756,15 +1202,52 @@ public final class RDFMapper {
 		return aClass;
 	}
 
-	private Value toLiteral(final Object theObj, final RdfProperty theAnnotation) {
-		if (theAnnotation != null && !Strings.isNullOrEmpty(theAnnotation.datatype())) {
-			final IRI aURI = iri(theAnnotation.datatype());
+	/**
+	 * Return the type of the values of the property; the element type for collections, the value type for maps,
+	 * otherwise the type of the property itself.
+	 */
+	private static Class<?> valueClass(final PropertyDescriptor theDescriptor) {
+		final Class<?> aClass = theDescriptor.getPropertyType();
+
+		if (Collection.class.isAssignableFrom(aClass)) {
+			return typeArgument(theDescriptor, Collection.class, 0);
+		}
+		else if (Map.class.isAssignableFrom(aClass)) {
+			return typeArgument(theDescriptor, Map.class, 1);
+		}
+		else {
+			return aClass;
+		}
+	}
+
+	/**
+	 * Return the type of the keys of the property if it is a map
+	 */
+	private static Class<?> keyClass(final PropertyDescriptor theDescriptor) {
+		return Map.class.isAssignableFrom(theDescriptor.getPropertyType())
+		       ? typeArgument(theDescriptor, Map.class, 0)
+		       : null;
+	}
+
+	private static Class<?> typeArgument(final PropertyDescriptor theDescriptor, final Class<?> theTarget, final int theIndex) {
+		final Class<?> aClass = GenericTypes.rawClass(GenericTypes.typeArgument(GenericTypes.propertyType(theDescriptor),
+		                                                                        theTarget, theIndex));
+
+		if (aClass == null) {
+			LOGGER.info("Could not find type for {} {}", theTarget.getSimpleName(), theDescriptor.getName());
+			return Object.class;
+		}
+
+		return aClass;
+	}
 
-			if (aURI == null) {
+	private Value toLiteral(final Object theObj, final PropertyPlan thePlan) {
+		if (thePlan != null && thePlan.isTyped()) {
+			if (thePlan.datatype() == null) {
 				return null;
 			}
 
-			return mValueFactory.createLiteral(theObj.toString(), aURI);
+			return mValueFactory.createLiteral(theObj.toString(), thePlan.datatype());
 		}
 		else if (theObj instanceof Boolean) {
 			return mValueFactory.createLiteral(Boolean.class.cast(theObj));
@@ -788,8 +1271,8 @@ public final class RDFMapper {
 			return mValueFactory.createLiteral(Dates2.datetimeISO(Date.class.cast(theObj)), XMLSchema.DATETIME);
 		}
 		else if (theObj instanceof String) {
-			if (theAnnotation != null && !theAnnotation.language().equals("")) {
-				return mValueFactory.createLiteral(String.class.cast(theObj), theAnnotation.language());
+			if (thePlan != null && !thePlan.language().equals("")) {
+				return mValueFactory.createLiteral(String.class.cast(theObj), thePlan.language());
 			}
 			else {
 				return mValueFactory.createLiteral(String.class.cast(theObj), XMLSchema.STRING);
@@ -805,6 +1288,174 @@ public final class RDFMapper {
 		throw new RDFMappingException("Unknown or unsupported primitive type: " + theObj);
 	}
 
+	/**
+	 * Return the compiled {@link ClassPlan plan} for the class, compiling it the first time the class is seen.
+	 *
+	 * @param theClass  the class
+	 * @return          the plan
+	 */
+	private ClassPlan plan(final Class<?> theClass) {
+		ClassPlan aPlan = mPlans.get(theClass);
+
+		if (aPlan == null) {
+			// compiling is idempotent, so if two threads race to compile the same class, either result is fine
+			aPlan = compile(theClass);
+			mPlans.putIfAbsent(theClass, aPlan);
+		}
+
+		return aPlan;
+	}
+
+	private ClassPlan compile(final Class<?> theClass) {
+		final BeanMapping<?> aMapping = mapping(theClass);
+
+		final List<PropertyDescriptor> aDescriptors;
+
+		try {
+			aDescriptors = aMapping != null
+			               ? aMapping.properties()
+			               : Arrays.asList(PropertyUtils.getPropertyDescriptors(theClass));
+		}
+		catch (IntrospectionException | NoSuchMethodException e) {
+			throw new RDFMappingException(String.format("The generated mapping for %s is out of date, it should be regenerated", theClass), e);
+		}
+
+		final List<PropertyPlan> aProperties = Lists.newArrayList();
+
+		for (PropertyDescriptor aDescriptor : aDescriptors) {
+			if (isIgnored(aDescriptor)) {
+				continue;
+			}
+
+			final IRI aProperty = getProperty(aDescriptor);
+
+			if (aProperty == null) {
+				continue;
+			}
+
+			final RdfProperty aAnnotation = getPropertyAnnotation(aDescriptor);
+
+			final IRI aDatatype = aAnnotation != null && !Strings.isNullOrEmpty(aAnnotation.datatype())
+			                      ? iri(aAnnotation.datatype())
+			                      : null;
+
+			final Class<?> aValueClass = valueClass(aDescriptor);
+			final Class<?> aKeyClass = keyClass(aDescriptor);
+
+			// aValueClass is a Class<?>, so this binds to Beans.isPrimitive(Class), which tests the type the class represents
+			final boolean aCompactMap = mMappingOptions.is(MappingOptions.COMPACT_MAPS)
+			                            && String.class.equals(aKeyClass)
+			                            && Beans.isPrimitive(aValueClass);
+
+			final boolean aPacked = PackedLiterals.isArray(aDescriptor.getPropertyType())
+			                        || (Collection.class.isAssignableFrom(aDescriptor.getPropertyType())
+			                            && PackedLiterals.isElement(aValueClass)
+			                            && (mMappingOptions.is(MappingOptions.PACK_COLLECTIONS)
+			                                || (aAnnotation != null && aAnnotation.packed())));
+
+			final boolean aResolveType = !Collection.class.isAssignableFrom(aDescriptor.getPropertyType())
+			                             && !Map.class.isAssignableFrom(aDescriptor.getPropertyType())
+			                             && (!Classes.isInstantiable(aValueClass) || !Classes.hasDefaultConstructor(aValueClass));
+
+			// bind the decoders for the literals the property is expected to have up front
+			final Map<IRI, LiteralDecoder<?>> aDecoders = Maps.newHashMap();
+
+			if (aDescriptor.getPropertyType() == Character.TYPE) {
+				STRING_TYPES.forEach(theType -> aDecoders.put(theType, CHAR_DECODER));
+			}
+			else if (aDatatype != null && mDecoders.containsKey(aDatatype)) {
+				aDecoders.put(aDatatype, mDecoders.get(aDatatype));
+			}
+
+			aProperties.add(new PropertyPlan(aDescriptor, aProperty, aAnnotation, aDatatype,
+			                                 serializeCollectionsAsRDFList(aDescriptor), aValueClass, aKeyClass, aResolveType,
+			                                 aCompactMap, aPacked,
+			                                 codec(aValueClass), accessor(aMapping, aDescriptor), aDecoders,
+			                                 aValueClass.isEnum() ? enums(aValueClass) : null));
+		}
+
+		return new ClassPlan(theClass, getType(theClass), aProperties, aMapping, ids(theClass, aMapping, aDescriptors),
+		                     idFunction(theClass));
+	}
+
+	/**
+	 * Return the accessors for the {@link RdfId} properties of the class, sorted by the name of the property so the
+	 * values are always hashed in the same order.  Since the hash is sensitive to order, the same values in a
+	 * different order would yield a different ID, even though it's the *same* resource.
+	 */
+	private List<PropertyAccessor> ids(final Class<?> theClass, final BeanMapping<?> theMapping,
+	                                   final List<PropertyDescriptor> theDescriptors) {
+		final Iterable<String> aProps = theMapping != null
+		                                ? theMapping.ids()
+		                                : () -> StreamSupport.stream(Beans.getDeclaredMethods(theClass).spliterator(), false)
+		                                                     .filter(Methods.annotated(RdfId.class))
+		                                                     .map(Methods.property())
+		                                                     .iterator();
+
+		final Map<String, PropertyDescriptor> aDescriptors = Maps.newHashMap();
+
+		for (PropertyDescriptor aDescriptor : theDescriptors) {
+			aDescriptors.put(aDescriptor.getName(), aDescriptor);
+		}
+
+		final List<PropertyAccessor> aIds = Lists.newArrayList();
+
+		for (String aProp : Ordering.natural().sortedCopy(aProps)) {
+			final PropertyDescriptor aDescriptor = aDescriptors.get(aProp);
+
+			aIds.add(aDescriptor != null ? accessor(theMapping, aDescriptor) : PropertyAccessors.byName(aProp));
+		}
+
+		return aIds;
+	}
+
+	/**
+	 * Return the first id function whose class the given class is assignable to
+	 */
+	private Function<Object, Resource> idFunction(final Class<?> theClass) {
+		for (Map.Entry<Class<?>, Function<Object, Resource>> aEntry : mIdFunctions.entrySet()) {
+			if (aEntry.getKey().isAssignableFrom(theClass)) {
+				return aEntry.getValue();
+			}
+		}
+
+		return null;
+	}
+
+	private PropertyAccessor accessor(final BeanMapping<?> theMapping, final PropertyDescriptor theDescriptor) {
+		final PropertyAccessor aAccessor = theMapping != null ? theMapping.accessor(theDescriptor.getName()) : null;
+
+		return aAccessor != null ? aAccessor : mAccessors.create(theDescriptor);
+	}
+
+	/**
+	 * Find the precompiled {@link BeanMapping mapping} for the class, if there is one
+	 *
+	 * @param theClass  the bean class
+	 * @return          the mapping, or null if the class does not have one
+	 */
+	private static BeanMapping<?> mapping(final Class<?> theClass) {
+		final Class<?> aMappingClass;
+
+		try {
+			aMappingClass = Class.forName(theClass.getName() + BeanMapping.SUFFIX, true, theClass.getClassLoader());
+		}
+		catch (ClassNotFoundException e) {
+			return null;
+		}
+
+		if (!BeanMapping.class.isAssignableFrom(aMappingClass)) {
+			return null;
+		}
+
+		try {
+			return (BeanMapping<?>) aMappingClass.newInstance();
+		}
+		catch (ReflectiveOperationException e) {
+			throw new RDFMappingException(String.format("Could not create the mapping for %s", theClass), e);
+		}
+	}
+
 	private RdfProperty getPropertyAnnotation(final PropertyDescriptor thePropertyDescriptor) {
 		Method aMethod = null;
 
@@ -882,22 +1533,19 @@ public final class RDFMapper {
 			}
 		}
 
-		final Iterable<String> aProps = () -> StreamSupport.stream(Beans.getDeclaredMethods(theT.getClass()).spliterator(), false)
-		                                                   .filter(Methods.annotated(RdfId.class))
-		                                                   .map(Methods.property())
-		                                                   .iterator();
-
-		// Sort the properties so they're always iterated over in the same order.  since the hash is sensitive
-		// to iteration order, the same inputs but in a different order yields a different hashed value, and thus
-		// a different ID, even though it's the *same* resource.
-		final List<String> aSorted = Ordering.natural().sortedCopy(aProps);
+		final ClassPlan aPlan = plan(theT.getClass());
 
 		Resource aId = null;
-		if (!Iterables.isEmpty(aSorted)) {
-			Hasher aFunc = Hashing.md5().newHasher();
-			for (String aProp : aSorted) {
+
+		if (aPlan.idFunction() != null) {
+			aId = aPlan.idFunction().apply(theT);
+		}
+		else if (!aPlan.ids().isEmpty()) {
+			final Hasher aFunc = mIdHash.newHasher();
+
+			for (PropertyAccessor aProp : aPlan.ids()) {
 				try {
-					final Object aValue = PropertyUtils.getProperty(theT, aProp);
+					final Object aValue = aProp.get(theT);
 
 					if (aValue == null) {
 						continue;
@@ -914,13 +1562,6 @@ public final class RDFMapper {
 			aId = mValueFactory.createIRI(mDefaultNamespace + aFunc.hash().toString());
 		}
 
-		for (Map.Entry<Class<?>, Function<Object, Resource>> aEntry : mIdFunctions.entrySet()) {
-			if (aEntry.getKey().isAssignableFrom(theT.getClass())) {
-				aId = aEntry.getValue().apply(theT);
-				break;
-			}
-		}
-
 		if (aId == null && mMappingOptions.is(MappingOptions.REQUIRE_IDS)) {
 			throw new UnidentifiableObjectException(String.format("No identifier was found for %s!  The instance should " +
 			                                                      "implement Identifiable, have one or more properties " +
@@ -929,9 +1570,7 @@ public final class RDFMapper {
 		}
 		else {
 			if (aId == null) {
-				aId = mValueFactory.createIRI(mDefaultNamespace + Hashing.md5().newHasher()
-				                                                         .putString(theT.toString(), Charsets.UTF_8)
-				                                                         .hash().toString());
+				aId = mIdStrategy.id(theT, mIdContext);
 			}
 
 			if (theT instanceof Identifiable) {
@@ -942,6 +1581,43 @@ public final class RDFMapper {
 		}
 	}
 
+	/**
+	 * The view of this mapper given to its {@link IdStrategy}
+	 */
+	private final class IdContext implements IdStrategy.Context {
+		@Override
+		public ValueFactory valueFactory() {
+			return mValueFactory;
+		}
+
+		@Override
+		public String namespace() {
+			return mDefaultNamespace;
+		}
+
+		@Override
+		public int properties(final Object theBean, final BiConsumer<String, Object> theConsumer) {
+			int aCount = 0;
+
+			for (PropertyPlan aProperty : plan(theBean.getClass()).properties()) {
+				if (!aProperty.isReadable()) {
+					continue;
+				}
+
+				try {
+					theConsumer.accept(aProperty.name(), aProperty.accessor().get(theBean));
+				}
+				catch (ReflectiveOperationException e) {
+					throw new RDFMappingException(e);
+				}
+
+				aCount++;
+			}
+
+			return aCount;
+		}
+	}
+
 	/**
 	 * Create a new {@link RDFMapper} with the default settings
 	 * @return  a new {@code RDFMapper}
@@ -984,6 +1660,12 @@ public final class RDFMapper {
 
 		private Map<Class<?>, RDFCodec<?>> mCodecs = Maps.newHashMap();
 
+		private PropertyAccessors mAccessors = PropertyAccessors.METHOD_HANDLES;
+
+		private final Map<IRI, LiteralDecoder<?>> mDecoders = Maps.newHashMap(DEFAULT_DECODERS);
+
+		private IdStrategy mIdStrategy;
+
 		public Builder() {
 			mNamespaces.put("", DEFAULT_NAMESPACE);
 
@@ -1112,7 +1794,8 @@ public final class RDFMapper {
 		}
 
 		/**
-		 * Add a codec to the mapper
+		 * Add a codec to the mapper.  The codec is also used for the subclasses, or implementations, of the class which
+		 * do not have a codec of their own.
 		 *
 		 * @param theClass  the class mapped by the codec
 		 * @param theCodec  the codec
@@ -1121,6 +1804,51 @@ public final class RDFMapper {
 		 */
 		public <T> Builder codec(final Class<T> theClass, final RDFCodec<T> theCodec) {
 			mCodecs.put(theClass, theCodec);
+
+			if (theCodec instanceof LiteralCodec) {
+				mDecoders.putIfAbsent(((LiteralCodec<T>) theCodec).datatype(), (LiteralCodec<T>) theCodec);
+			}
+
+			return this;
+		}
+
+		/**
+		 * Specify how the mapper gets and sets the values of bean properties.  The default is
+		 * {@link PropertyAccessors#METHOD_HANDLES}.
+		 *
+		 * @param theAccessors  the accessor strategy
+		 * @return              this builder
+		 */
+		public Builder accessors(final PropertyAccessors theAccessors) {
+			mAccessors = Preconditions.checkNotNull(theAccessors);
+			return this;
+		}
+
+		/**
+		 * Add a decoder for literals of the given datatype, replacing the default decoder for that datatype, if any.
+		 * Reading a literal whose datatype has no decoder is an error.
+		 *
+		 * @param theDatatype   the datatype
+		 * @param theDecoder    the decoder
+		 * @return              this builder
+		 */
+		public Builder decoder(final IRI theDatatype, final LiteralDecoder<?> theDecoder) {
+			mDecoders.put(Preconditions.checkNotNull(theDatatype), Preconditions.checkNotNull(theDecoder));
+			return this;
+		}
+
+		/**
+		 * Specify how the rdf:ID of objects which do not have one of their own is created.  The default is
+		 * {@link IdStrategies#toStringHash hashing} the {@code toString()} of the object with the
+		 * {@link MappingOptions#ID_HASH id hash}.
+		 *
+		 * @param theStrategy   the strategy
+		 * @return              this builder
+		 *
+		 * @see IdStrategies
+		 */
+		public Builder idStrategy(final IdStrategy theStrategy) {
+			mIdStrategy = Preconditions.checkNotNull(theStrategy);
 			return this;
 		}
 
@@ -1129,7 +1857,8 @@ public final class RDFMapper {
 		 * @return  the new mapper
 		 */
 		public RDFMapper build() {
-			return new RDFMapper(mMappings, mIdFunctions, mNamespaces, mCodecs, mOptions, new Factories(mValueFactory, mCollectionFactory, mMapFactory));
+			return new RDFMapper(mMappings, mIdFunctions, mNamespaces, mCodecs, mOptions, new Factories(mValueFactory, mCollectionFactory, mMapFactory),
+			                     mAccessors, mDecoders, mIdStrategy);
 		}
 	}
 
@@ -1138,12 +1867,25 @@ public final class RDFMapper {
 	 *
 	 * @author  Michael Grove
 	 * @since   1.0
-	 * @version 1.0
+	 * @version 2.0.1
 	 *
 	 * @see DefaultCollectionFactory
+	 * @see PrimitiveCollectionFactory
 	 */
 	public interface CollectionFactory {
 		public Collection create(final PropertyDescriptor thePropertyDescriptor);
+
+		/**
+		 * Create the collection for the property when the number of elements it is about to be given is known, so
+		 * that it can be created with enough room for them.  By default the size is ignored.
+		 *
+		 * @param thePropertyDescriptor the property
+		 * @param theExpectedSize       the number of elements which will be added
+		 * @return                      the new collection
+		 */
+		public default Collection create(final PropertyDescriptor thePropertyDescriptor, final int theExpectedSize) {
+			return create(thePropertyDescriptor);
+		}
 	}
 
 	/**
@@ -1186,64 +1928,137 @@ public final class RDFMapper {
 	}
 
 	/**
-	 * <p>Default implementation of a {@link CollectionFactory}.  Uses {@link Class#newInstance()}, but when that
-	 * fails, it will fall back to creating a default type for each basic type of {@code Collection}.  For {@code List}
-	 * an {@link ArrayList} is used, for {@code Set} a {@link LinkedHashSet}, for {@code SortedSet} a {@link TreeSet}, and
-	 * for any other type of {@code Collection}, a {@link LinkedHashSet}.</p>
+	 * <p>Default implementation of a {@link CollectionFactory}.  When the property type is a concrete collection with a
+	 * public default constructor, that constructor is used, otherwise it falls back to a default type for each basic
+	 * type of {@code Collection}.  For {@code List} an {@link ArrayList} is used, for {@code Set} a
+	 * {@link LinkedHashSet}, for {@code SortedSet} a {@link TreeSet}, and for any other type of {@code Collection}, a
+	 * {@link LinkedHashSet}.  {@code ArrayList}s and hash sets are created with room for the expected number of
+	 * elements.</p>
+	 *
+	 * <p>How each type is created is worked out the first time the type is seen and cached.</p>
 	 *
 	 * @author  Michael Grove
 	 * @since   1.0
-	 * @version 1.0
+	 * @version 2.0.1
 	 */
 	public static class DefaultCollectionFactory implements CollectionFactory {
+		private final Map<Class<?>, IntFunction<Collection>> mConstructors = new ConcurrentHashMap<>();
+
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
 		public Collection create(final PropertyDescriptor thePropertyDescriptor) {
-			final Class<?> aType = thePropertyDescriptor.getPropertyType();
-			try {
-				// try creating a new instance.  this will work if they've specified a concrete type *and* it has a
-				// default constructor, which is true of all the core collections.
-				return (Collection) aType.newInstance();
+			return create(thePropertyDescriptor, -1);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Collection create(final PropertyDescriptor thePropertyDescriptor, final int theExpectedSize) {
+			return mConstructors.computeIfAbsent(thePropertyDescriptor.getPropertyType(), DefaultCollectionFactory::constructor)
+			                    .apply(theExpectedSize);
+		}
+
+		/**
+		 * Return the function which creates collections of the given type from the expected size of the collection,
+		 * or a negative size when it is not known
+		 */
+		private static IntFunction<Collection> constructor(final Class<?> theType) {
+			if (theType == ArrayList.class) {
+				return theSize -> theSize < 0 ? Lists.newArrayList() : Lists.newArrayListWithCapacity(theSize);
 			}
-			catch (Exception e) {
-				if (List.class.isAssignableFrom(aType)) {
-					return Lists.newArrayList();
-				}
-				else if (Set.class.isAssignableFrom(aType)) {
-					if (SortedSet.class.isAssignableFrom(aType)) {
-						return Sets.newTreeSet();
-					}
-					else {
-						return Sets.newLinkedHashSet();
-					}
-				}
-				else if (Collection.class.equals(aType)) {
-					return Sets.newLinkedHashSet();
+			else if (theType == HashSet.class) {
+				return theSize -> theSize < 0 ? Sets.newHashSet() : Sets.newHashSetWithExpectedSize(theSize);
+			}
+			else if (theType == LinkedHashSet.class) {
+				return theSize -> theSize < 0 ? Sets.newLinkedHashSet() : Sets.newLinkedHashSetWithExpectedSize(theSize);
+			}
+
+			if (!theType.isInterface() && !Modifier.isAbstract(theType.getModifiers())) {
+				try {
+					// this will work if they've specified a concrete type *and* it has a default constructor, which is
+					// true of all the core collections.
+					final Constructor<?> aConstructor = theType.getConstructor();
+
+					return theSize -> {
+						try {
+							return (Collection) aConstructor.newInstance();
+						}
+						catch (ReflectiveOperationException e) {
+							throw new RDFMappingException(String.format("Could not create an instance of %s", theType), e);
+						}
+					};
 				}
-				else {
-					// what else could there be?
-					throw new RDFMappingException("Unknown or unsupported collection type for a field: " + aType);
+				catch (NoSuchMethodException e) {
+					// fall back to the default for the type
 				}
 			}
-		}
-	}
 
-	// todo: move to commons-utils
-	private static final class Dates2 {
-		public static Date asDate(final String theDate) {
-			try {
-				return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").parse(theDate);
+			if (List.class.isAssignableFrom(theType)) {
+				return theSize -> theSize < 0 ? Lists.newArrayList() : Lists.newArrayListWithCapacity(theSize);
 			}
-			catch (ParseException pe) {
-				return Dates.asDate(theDate);
+			else if (SortedSet.class.isAssignableFrom(theType)) {
+				return theSize -> Sets.newTreeSet();
+			}
+			else if (Set.class.isAssignableFrom(theType) || Collection.class.equals(theType)) {
+				return theSize -> theSize < 0 ? Sets.newLinkedHashSet() : Sets.newLinkedHashSetWithExpectedSize(theSize);
+			}
+			else {
+				// what else could there be?
+				return theSize -> {
+					throw new RDFMappingException("Unknown or unsupported collection type for a field: " + theType);
+				};
 			}
 		}
+	}
+
+	/**
+	 * <p>A {@link CollectionFactory} which creates {@code List<Integer>}, {@code List<Long>} and {@code List<Double>}
+	 * properties as an {@link IntList}, {@link LongList} or {@link DoubleList}, which store their elements in a
+	 * primitive array rather than as boxed objects.  Every other collection is created by the
+	 * {@link DefaultCollectionFactory}.  Only properties declared as a {@code List} are affected, those declared as a
+	 * specific type of list get that type.</p>
+	 *
+	 * <p>The primitive lists do not permit {@code null} elements.</p>
+	 *
+	 * @author  Michael Grove
+	 * @since   2.0.1
+	 * @version 2.0.1
+	 *
+	 * @see Builder#collectionFactory(CollectionFactory)
+	 */
+	public static class PrimitiveCollectionFactory extends DefaultCollectionFactory {
+		private final Map<PropertyDescriptor, Class<?>> mElementTypes = new ConcurrentHashMap<>();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Collection create(final PropertyDescriptor thePropertyDescriptor, final int theExpectedSize) {
+			if (thePropertyDescriptor.getPropertyType() == List.class) {
+				final Class<?> aElementType = mElementTypes.computeIfAbsent(thePropertyDescriptor, theDescriptor -> {
+					final Class<?> aClass = GenericTypes.rawClass(GenericTypes.typeArgument(GenericTypes.propertyType(theDescriptor),
+					                                                                        Collection.class, 0));
 
-		public static String datetimeISO(Date theDate) {
-			return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").format(theDate);
+					return aClass == null ? Object.class : aClass;
+				});
+
+				final int aCapacity = Math.max(theExpectedSize, 0);
+
+				if (aElementType == Integer.class) {
+					return new IntList(aCapacity);
+				}
+				else if (aElementType == Long.class) {
+					return new LongList(aCapacity);
+				}
+				else if (aElementType == Double.class) {
+					return new DoubleList(aCapacity);
+				}
+			}
+
+			return super.create(thePropertyDescriptor, theExpectedSize);
 		}
 	}
 }
-
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.collect.Maps;
+import org.openrdf.model.Model;
+import org.openrdf.model.Resource;
+
+import java.util.Map;
+
+/**
+ * <p>The state shared by everything decoded in a single read: the {@link ModelIndex index} of the graph and the
+ * beans which have already been created, keyed by the resource they were read from.</p>
+ *
+ * <p>A bean is registered as soon as it is created, before its properties are read, so every reference to a resource
+ * decodes to the same instance, and cyclic data can be read.  A consequence is that a bean in a cycle can be seen by
+ * the objects referring to it before its own properties are set; it should not be put in a hash based collection
+ * whose hash code depends on those properties.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class ReadContext {
+
+	private final ModelIndex mIndex;
+
+	private final Map<Resource, Object> mObjects = Maps.newHashMap();
+
+	ReadContext(final ModelIndex theIndex) {
+		mIndex = theIndex;
+	}
+
+	/**
+	 * Create a context for reading from the given graph
+	 *
+	 * @param theGraph  the graph
+	 * @return          the context
+	 */
+	public static ReadContext of(final Model theGraph) {
+		return new ReadContext(ModelIndex.of(theGraph));
+	}
+
+	public ModelIndex index() {
+		return mIndex;
+	}
+
+	/**
+	 * Return the bean previously read from the resource
+	 *
+	 * @param theResource   the resource
+	 * @param theClass      the class of the bean
+	 * @return              the bean, or null if the resource has not been read as an instance of the class
+	 */
+	public <T> T get(final Resource theResource, final Class<T> theClass) {
+		final Object aObj = mObjects.get(theResource);
+
+		return theClass.isInstance(aObj) ? theClass.cast(aObj) : null;
+	}
+
+	/**
+	 * Record the bean read from the resource
+	 *
+	 * @param theResource   the resource
+	 * @param theObj        the bean
+	 */
+	public void put(final Resource theResource, final Object theObj) {
+		mObjects.put(theResource, theObj);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.rio.RDFHandler;
+import org.openrdf.rio.RDFHandlerException;
+
+/**
+ * <p>The destination of the statements created when {@link RDFMapper#writeValue(Object) writing} a bean.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+interface StatementSink {
+
+	/**
+	 * Add a statement to the sink
+	 *
+	 * @param theSubject    the subject
+	 * @param thePredicate  the predicate
+	 * @param theObject     the object
+	 *
+	 * @throws RDFMappingException if the statement could not be added
+	 */
+	public void add(final Resource theSubject, final IRI thePredicate, final Value theObject);
+
+	/**
+	 * Add all the statements to the sink
+	 *
+	 * @param theStatements the statements
+	 *
+	 * @throws RDFMappingException if a statement could not be added
+	 */
+	public default void addAll(final Iterable<Statement> theStatements) {
+		for (Statement aStmt : theStatements) {
+			add(aStmt.getSubject(), aStmt.getPredicate(), aStmt.getObject());
+		}
+	}
+
+	/**
+	 * Create a sink which adds the statements to a {@link Model}
+	 *
+	 * @param theModel  the model
+	 * @return          the sink
+	 */
+	public static StatementSink of(final Model theModel) {
+		return (theSubject, thePredicate, theObject) -> theModel.add(theSubject, thePredicate, theObject);
+	}
+
+	/**
+	 * Create a sink which passes the statements to an {@link RDFHandler}
+	 *
+	 * @param theHandler    the handler
+	 * @param theFactory    the factory used to create the statements
+	 * @return              the sink
+	 */
+	public static StatementSink of(final RDFHandler theHandler, final ValueFactory theFactory) {
+		return (theSubject, thePredicate, theObject) -> {
+			try {
+				theHandler.handleStatement(theFactory.createStatement(theSubject, thePredicate, theObject));
+			}
+			catch (RDFHandlerException e) {
+				throw new RDFMappingException(e);
+			}
+		};
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Resolves the {@code rdf:type}'s of a resource to the Java class they are {@link RDFMapper.Builder#map mapped} to.
+ * The subclass relationships between the mapped classes are worked out once, when the mapper is built, and the result
+ * for each distinct list of types is cached, so a resource whose types have been seen before is resolved with a single
+ * lookup.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class TypeResolver {
+
+	/**
+	 * The limit on the number of distinct lists of types which are cached.  Data usually has a handful, but nothing
+	 * stops an arbitrary graph from having a different combination on every resource.
+	 */
+	private static final int MAX_CACHED = 4096;
+
+	private static final Resolution NONE = new Resolution(null, null);
+
+	private final ImmutableMap<IRI, Class<?>> mMappings;
+
+	/**
+	 * The mapped classes which are subclasses of each mapped class, including the class itself
+	 */
+	private final ImmutableMap<Class<?>, ImmutableSet<Class<?>>> mSubclasses;
+
+	private final Map<List<Value>, Resolution> mCache = new ConcurrentHashMap<>();
+
+	TypeResolver(final Map<IRI, Class<?>> theMappings) {
+		mMappings = ImmutableMap.copyOf(theMappings);
+
+		final ImmutableMap.Builder<Class<?>, ImmutableSet<Class<?>>> aSubclasses = ImmutableMap.builder();
+
+		for (Class<?> aClass : mMappings.values()) {
+			final ImmutableSet.Builder<Class<?>> aSet = ImmutableSet.builder();
+
+			for (Class<?> aOther : mMappings.values()) {
+				if (aClass.isAssignableFrom(aOther)) {
+					aSet.add(aOther);
+				}
+			}
+
+			aSubclasses.put(aClass, aSet.build());
+		}
+
+		mSubclasses = aSubclasses.build();
+	}
+
+	/**
+	 * Return the class mapped to the first of the types which has a mapping
+	 *
+	 * @param theTypes  the types of a resource
+	 * @return          the class, or null if none of the types are mapped
+	 */
+	public Class<?> first(final List<Value> theTypes) {
+		return resolve(theTypes).mFirst;
+	}
+
+	/**
+	 * Return the most specific class mapped to the types.  The types are considered in order and a mapped class
+	 * replaces the current candidate when it is a subclass of it.
+	 *
+	 * @param theTypes  the types of a resource
+	 * @return          the class, or null if none of the types are mapped
+	 */
+	public Class<?> mostSpecific(final List<Value> theTypes) {
+		return resolve(theTypes).mMostSpecific;
+	}
+
+	private Resolution resolve(final List<Value> theTypes) {
+		if (theTypes.isEmpty() || mMappings.isEmpty()) {
+			return NONE;
+		}
+
+		Resolution aResolution = mCache.get(theTypes);
+
+		if (aResolution == null) {
+			aResolution = compute(theTypes);
+
+			if (mCache.size() < MAX_CACHED) {
+				// the caller's list is not ours to keep
+				mCache.putIfAbsent(ImmutableList.copyOf(theTypes), aResolution);
+			}
+		}
+
+		return aResolution;
+	}
+
+	private Resolution compute(final List<Value> theTypes) {
+		Class<?> aFirst = null;
+		Class<?> aCurr = null;
+
+		for (Value aType : theTypes) {
+			final Class<?> aMappedClass = mMappings.get(aType);
+
+			if (aMappedClass == null) {
+				continue;
+			}
+
+			if (aFirst == null) {
+				aFirst = aMappedClass;
+			}
+
+			if (aCurr == null || mSubclasses.get(aCurr).contains(aMappedClass)) {
+				aCurr = aMappedClass;
+			}
+		}
+
+		return aFirst == null ? NONE : new Resolution(aFirst, aCurr);
+	}
+
+	private static final class Resolution {
+		private final Class<?> mFirst;
+
+		private final Class<?> mMostSpecific;
+
+		private Resolution(final Class<?> theFirst, final Class<?> theMostSpecific) {
+			mFirst = theFirst;
+			mMostSpecific = theMostSpecific;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto;
+
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.ValueFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>The state shared by everything written in a single call to {@link RDFMapper#writeValue(Object) write} a bean, or
+ * a {@link RDFMapper#writeAll(Iterable, Model) batch} of beans: the {@link StatementSink sink} every statement goes to,
+ * the objects which have already been written, and the subjects, such as nested objects, whose statements are still to
+ * be written.</p>
+ *
+ * <p>Writing a subject that is referenced by the one currently being written is deferred until the current subject
+ * is complete.  Each statement is then created once, directly in the sink, and the statements of each subject are
+ * contiguous in the output, which keeps the output grouped by subject for {@link RDFMapper#reader streaming readers}.
+ * </p>
+ *
+ * <p>Objects are tracked by identity, an object referenced many times, or from within a cycle, is written once and
+ * only linked to afterwards.  The context keeps a reference to every object written until it is discarded.  User
+ * defined {@code equals} is never called, a different object with the same rdf:ID as one already written is written
+ * again, repeating the statements the two have in common.  A context created to write {@link #distinct distinct}
+ * statements, as when {@link MappingOptions#DISTINCT_STATEMENTS} is set, also remembers every statement it has
+ * passed to the sink and drops any which are repeated, at the cost of holding all of them in memory.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+final class WriteContext {
+
+	private final StatementSink mSink;
+
+	private long mStatements;
+
+	private final Deque<Runnable> mPending = new ArrayDeque<>();
+
+	private final Map<Object, Resource> mWritten = new IdentityHashMap<>();
+
+	WriteContext(final StatementSink theSink) {
+		mSink = (theSubject, thePredicate, theObject) -> {
+			mStatements++;
+			theSink.add(theSubject, thePredicate, theObject);
+		};
+	}
+
+	private WriteContext(final StatementSink theSink, final ValueFactory theFactory) {
+		final Set<Statement> aDistinct = new HashSet<>();
+
+		mSink = (theSubject, thePredicate, theObject) -> {
+			if (aDistinct.add(theFactory.createStatement(theSubject, thePredicate, theObject))) {
+				mStatements++;
+				theSink.add(theSubject, thePredicate, theObject);
+			}
+		};
+	}
+
+	/**
+	 * Create a context which passes each distinct statement to the sink only once.  Every statement written is kept
+	 * until the context is discarded.
+	 *
+	 * @param theSink       the sink
+	 * @param theFactory    the factory used to create the statements which are remembered
+	 * @return              the context
+	 */
+	static WriteContext distinct(final StatementSink theSink, final ValueFactory theFactory) {
+		return new WriteContext(theSink, theFactory);
+	}
+
+	public StatementSink sink() {
+		return mSink;
+	}
+
+	/**
+	 * Return the rdf:ID the object was written with
+	 *
+	 * @param theObj    the object
+	 * @return          its rdf:ID, or null if the object has not been written
+	 */
+	public Resource written(final Object theObj) {
+		return mWritten.get(theObj);
+	}
+
+	/**
+	 * Record that the object is written with the given rdf:ID
+	 *
+	 * @param theObj    the object
+	 * @param theId     its rdf:ID
+	 */
+	public void written(final Object theObj, final Resource theId) {
+		mWritten.put(theObj, theId);
+	}
+
+	/**
+	 * Return the number of statements added to the sink of this context, not counting those dropped as duplicates
+	 *
+	 * @return  the number of statements
+	 */
+	public long statements() {
+		return mStatements;
+	}
+
+	/**
+	 * Write the statements of another subject once the current subject is complete
+	 *
+	 * @param theWrite  the write
+	 */
+	public void defer(final Runnable theWrite) {
+		mPending.add(theWrite);
+	}
+
+	/**
+	 * Perform all the deferred writes, including those deferred while this is running
+	 */
+	public void flush() {
+		Runnable aWrite;
+
+		while ((aWrite = mPending.poll()) != null) {
+			aWrite.run();
+		}
+	}
+}
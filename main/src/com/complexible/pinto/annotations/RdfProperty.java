@@ -50,6 +50,16 @@ public @interface RdfProperty {
 	 */
 	public boolean isList() default false;
 
+	/**
+	 * Whether or not to write a collection of numbers, such as a {@code List<Integer>}, as a single packed literal of
+	 * its elements.  Overrides any {@link MappingOptions#PACK_COLLECTIONS option set} on the {@link RDFMapper mapper},
+	 * and takes precedence over {@link #isList()}.  Primitive arrays are always packed.  A collection which contains
+	 * {@code null} cannot be packed without losing the positions of its elements, writing one is an error.
+	 *
+	 * @return `true` to pack the values of the collection in one literal.  Default value is `false`.
+	 */
+	public boolean packed() default false;
+
 	/**
 	 * For literal valued properties, this specifies which language tag to retrieve and save from the RDF
 	 * @return the language value, such as 'en' or 'fr' or the empty string for any language typed literals including
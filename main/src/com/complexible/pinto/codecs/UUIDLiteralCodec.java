@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto.codecs;
+
+import com.complexible.pinto.LiteralCodec;
+import com.complexible.pinto.RDFMappingException;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Literal;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+import java.util.UUID;
+
+/**
+ * <p>Codec for (de)serializing {@link UUID} as a single literal.  Unlike {@link UUIDCodec}, which describes each UUID
+ * with a blank node, a type and a property, a UUID property is written as one statement.  The two serializations are
+ * not interchangeable, data written with one must be read with the same codec.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+public enum UUIDLiteralCodec implements LiteralCodec<UUID> {
+	Instance;
+
+	public static final IRI DATATYPE = SimpleValueFactory.getInstance().createIRI("tag:java.util.UUID");
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IRI datatype() {
+		return DATATYPE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Literal writeValue(final UUID theValue) {
+		return SimpleValueFactory.getInstance().createLiteral(theValue.toString(), DATATYPE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UUID decode(final Literal theLiteral) {
+		try {
+			return UUID.fromString(theLiteral.getLabel());
+		}
+		catch (IllegalArgumentException e) {
+			throw new RDFMappingException(String.format("%s is not a valid UUID", theLiteral.getLabel()), e);
+		}
+	}
+}
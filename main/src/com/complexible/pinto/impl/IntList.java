@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * <p>A {@code List<Integer>} backed by a {@code int[]} rather than an array of references to boxed values, which keeps
+ * large lists of numbers to a fraction of the memory of an {@link java.util.ArrayList}.  Values are boxed when they
+ * are read through the {@link java.util.List} interface; {@link #getInt(int)} returns the primitive value
+ * directly.  The list does not permit {@code null} elements.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ *
+ * @see com.complexible.pinto.RDFMapper.PrimitiveCollectionFactory
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+	private static final int[] EMPTY = new int[0];
+
+	private int[] mValues;
+
+	private int mSize;
+
+	public IntList() {
+		mValues = EMPTY;
+	}
+
+	/**
+	 * Create a new list with room for the given number of elements before it has to grow
+	 *
+	 * @param theCapacity   the initial capacity
+	 */
+	public IntList(final int theCapacity) {
+		if (theCapacity < 0) {
+			throw new IllegalArgumentException("Illegal capacity: " + theCapacity);
+		}
+
+		mValues = theCapacity == 0 ? EMPTY : new int[theCapacity];
+	}
+
+	/**
+	 * Return the element at the given position without boxing it
+	 *
+	 * @param theIndex  the index
+	 * @return          the element
+	 */
+	public int getInt(final int theIndex) {
+		checkIndex(theIndex);
+		return mValues[theIndex];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer get(final int theIndex) {
+		return getInt(theIndex);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer set(final int theIndex, final Integer theValue) {
+		checkIndex(theIndex);
+
+		final int aOld = mValues[theIndex];
+		mValues[theIndex] = theValue;
+
+		return aOld;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(final int theIndex, final Integer theValue) {
+		if (theIndex < 0 || theIndex > mSize) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + mSize);
+		}
+
+		final int aValue = theValue;
+
+		if (mSize == mValues.length) {
+			mValues = Arrays.copyOf(mValues, Math.max(8, mSize + (mSize >> 1)));
+		}
+
+		System.arraycopy(mValues, theIndex, mValues, theIndex + 1, mSize - theIndex);
+
+		mValues[theIndex] = aValue;
+		mSize++;
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer remove(final int theIndex) {
+		checkIndex(theIndex);
+
+		final int aOld = mValues[theIndex];
+
+		System.arraycopy(mValues, theIndex + 1, mValues, theIndex, mSize - theIndex - 1);
+
+		mSize--;
+		modCount++;
+
+		return aOld;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		mSize = 0;
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * Return a copy of the elements of the list
+	 *
+	 * @return  the elements
+	 */
+	public int[] toIntArray() {
+		return Arrays.copyOf(mValues, mSize);
+	}
+
+	private void checkIndex(final int theIndex) {
+		if (theIndex < 0 || theIndex >= mSize) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + mSize);
+		}
+	}
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2015 Complexible Inc. <http://complexible.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.pinto.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>Annotation processor which generates a {@code BeanMapping} for every class annotated with {@code @RdfsClass}.
+ * The generated mapping lists the bean's properties and accesses them with plain method calls, so {@code RDFMapper}
+ * does not need to introspect the class or bind accessors reflectively the first time it sees it.</p>
+ *
+ * <p>Properties are discovered with the same conventions used by bean introspection: public {@code getX}/{@code isX}
+ * getters and public {@code setX} setters, including fluent setters which return a value.  The {@code @RdfProperty}
+ * and {@code @RdfId} annotations are read from those accessors; annotated methods which are not accessors are
+ * reported since they would be ignored by the mapper.</p>
+ *
+ * @author  Michael Grove
+ * @since   2.0.1
+ * @version 2.0.1
+ */
+@SupportedAnnotationTypes(BeanMappingProcessor.RDFS_CLASS)
+public final class BeanMappingProcessor extends AbstractProcessor {
+
+	static final String RDFS_CLASS = "com.complexible.pinto.annotations.RdfsClass";
+
+	static final String RDF_PROPERTY = "com.complexible.pinto.annotations.RdfProperty";
+
+	static final String RDF_ID = "com.complexible.pinto.annotations.RdfId";
+
+	/**
+	 * Must be kept in sync with {@code BeanMapping.SUFFIX}; the processor does not depend on the runtime classes
+	 */
+	static final String SUFFIX = "_PintoMapping";
+
+	private Elements mElements;
+
+	private Types mTypes;
+
+	private Filer mFiler;
+
+	private Messager mMessager;
+
+	@Override
+	public synchronized void init(final ProcessingEnvironment theEnv) {
+		super.init(theEnv);
+
+		mElements = theEnv.getElementUtils();
+		mTypes = theEnv.getTypeUtils();
+		mFiler = theEnv.getFiler();
+		mMessager = theEnv.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> theAnnotations, final RoundEnvironment theEnv) {
+		final TypeElement aRdfsClass = mElements.getTypeElement(RDFS_CLASS);
+
+		if (aRdfsClass == null) {
+			return false;
+		}
+
+		for (TypeElement aType : ElementFilter.typesIn(theEnv.getElementsAnnotatedWith(aRdfsClass))) {
+			if (aType.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+
+			if (!isAccessible(aType)) {
+				mMessager.printMessage(Diagnostic.Kind.NOTE,
+				                       "No mapping generated, the class must be accessible from its package and static if it is nested",
+				                       aType);
+				continue;
+			}
+
+			try {
+				generate(aType);
+			}
+			catch (IOException e) {
+				mMessager.printMessage(Diagnostic.Kind.ERROR, "Could not write the mapping: " + e.getMessage(), aType);
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean isAccessible(final TypeElement theType) {
+		Element aElement = theType;
+
+		while (aElement instanceof TypeElement) {
+			final TypeElement aType = (TypeElement) aElement;
+
+			if (aType.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+
+			if (aType.getNestingKind() == NestingKind.MEMBER && !aType.getModifiers().contains(Modifier.STATIC)) {
+				return false;
+			}
+			else if (aType.getNestingKind() == NestingKind.LOCAL || aType.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+
+			aElement = aType.getEnclosingElement();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Collect the bean properties of the type, keyed and sorted by name as bean introspection would
+	 */
+	private Map<String, Property> properties(final TypeElement theType) {
+		final DeclaredType aBeanType = (DeclaredType) theType.asType();
+		final Map<String, Property> aProperties = new TreeMap<>();
+
+		for (ExecutableElement aMethod : ElementFilter.methodsIn(mElements.getAllMembers(theType))) {
+			if (!aMethod.getModifiers().contains(Modifier.PUBLIC)
+			    || aMethod.getModifiers().contains(Modifier.STATIC)
+			    || ((TypeElement) aMethod.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName())) {
+				continue;
+			}
+
+			final ExecutableType aSignature = (ExecutableType) mTypes.asMemberOf(aBeanType, aMethod);
+			final String aName = aMethod.getSimpleName().toString();
+
+			if (aMethod.getParameters().isEmpty()) {
+				final TypeMirror aReturn = aSignature.getReturnType();
+
+				if (aName.startsWith("is") && aName.length() > 2 && aReturn.getKind() == TypeKind.BOOLEAN) {
+					property(aProperties, aName.substring(2)).getter(aMethod, aReturn, true);
+				}
+				else if (aName.startsWith("get") && aName.length() > 3 && aReturn.getKind() != TypeKind.VOID) {
+					property(aProperties, aName.substring(3)).getter(aMethod, aReturn, false);
+				}
+			}
+			else if (aMethod.getParameters().size() == 1 && aName.startsWith("set") && aName.length() > 3) {
+				property(aProperties, aName.substring(3)).setter(aMethod, aSignature.getParameterTypes().get(0));
+			}
+		}
+
+		aProperties.values().forEach(Property::resolve);
+		aProperties.values().removeIf(theProperty -> theProperty.mGetter == null && theProperty.mSetter == null);
+
+		return aProperties;
+	}
+
+	private Property property(final Map<String, Property> theProperties, final String theName) {
+		return theProperties.computeIfAbsent(decapitalize(theName), Property::new);
+	}
+
+	/**
+	 * Same as {@code java.beans.Introspector#decapitalize}
+	 */
+	private static String decapitalize(final String theName) {
+		if (theName.length() > 1 && Character.isUpperCase(theName.charAt(1)) && Character.isUpperCase(theName.charAt(0))) {
+			return theName;
+		}
+
+		return Character.toLowerCase(theName.charAt(0)) + theName.substring(1);
+	}
+
+	private boolean isAnnotated(final Element theElement, final String theAnnotation) {
+		if (theElement == null) {
+			return false;
+		}
+
+		for (AnnotationMirror aMirror : theElement.getAnnotationMirrors()) {
+			if (((TypeElement) aMirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(theAnnotation)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Warn about {@code @RdfProperty} and {@code @RdfId} annotations on methods which are not bean accessors
+	 */
+	private void checkAnnotations(final TypeElement theType, final Map<String, Property> theProperties) {
+		final Set<ExecutableElement> aAccessors = new HashSet<>();
+
+		for (Property aProperty : theProperties.values()) {
+			if (aProperty.mGetter != null) {
+				aAccessors.add(aProperty.mGetter);
+			}
+
+			if (aProperty.mSetter != null) {
+				aAccessors.add(aProperty.mSetter);
+			}
+		}
+
+		for (ExecutableElement aMethod : ElementFilter.methodsIn(theType.getEnclosedElements())) {
+			if ((isAnnotated(aMethod, RDF_PROPERTY) || isAnnotated(aMethod, RDF_ID)) && !aAccessors.contains(aMethod)) {
+				mMessager.printMessage(Diagnostic.Kind.WARNING,
+				                       "Annotation is ignored, the method is not a public bean getter or setter", aMethod);
+			}
+		}
+	}
+
+	private void generate(final TypeElement theType) throws IOException {
+		final Map<String, Property> aProperties = properties(theType);
+
+		checkAnnotations(theType, aProperties);
+
+		final PackageElement aPackage = mElements.getPackageOf(theType);
+		final String aBinaryName = mElements.getBinaryName(theType).toString();
+		final String aSimpleName = (aPackage.isUnnamed() ? aBinaryName : aBinaryName.substring(aPackage.getQualifiedName().length() + 1)) + SUFFIX;
+		final String aBean = mTypes.erasure(theType.asType()).toString();
+
+		final Set<String> aIds = new TreeSet<>();
+
+		for (Property aProperty : aProperties.values()) {
+			if (isAnnotated(aProperty.mGetter, RDF_ID) || isAnnotated(aProperty.mSetter, RDF_ID)) {
+				aIds.add(aProperty.mName);
+			}
+		}
+
+		final String aQualifiedName = aPackage.isUnnamed() ? aSimpleName : aPackage.getQualifiedName() + "." + aSimpleName;
+
+		try (Writer aWriter = mFiler.createSourceFile(aQualifiedName, theType).openWriter();
+		     PrintWriter aOut = new PrintWriter(aWriter)) {
+
+			if (!aPackage.isUnnamed()) {
+				aOut.printf("package %s;%n%n", aPackage.getQualifiedName());
+			}
+
+			aOut.printf("/**%n * Mapping for {@link %s}, generated by %s.  Do not edit.%n */%n", aBean, getClass().getName());
+			aOut.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+			aOut.printf("public final class %s implements com.complexible.pinto.BeanMapping<%s> {%n", aSimpleName, aBean);
+
+			int aIndex = 0;
+			for (Property aProperty : aProperties.values()) {
+				aOut.printf("%n\tprivate static final com.complexible.pinto.PropertyAccessor P%d = new com.complexible.pinto.PropertyAccessor() {%n", aIndex++);
+
+				aOut.printf("\t\t@Override%n\t\tpublic Object get(final Object theBean) throws ReflectiveOperationException {%n");
+				if (aProperty.mGetter != null) {
+					aOut.printf("\t\t\treturn ((%s) theBean).%s();%n", aBean, aProperty.mGetter.getSimpleName());
+				}
+				else {
+					aOut.printf("\t\t\tthrow new NoSuchMethodException(\"Property '%s' has no getter method\");%n", aProperty.mName);
+				}
+				aOut.printf("\t\t}%n%n");
+
+				aOut.printf("\t\t@Override%n\t\tpublic void set(final Object theBean, final Object theValue) throws ReflectiveOperationException {%n");
+				if (aProperty.mSetter != null) {
+					aOut.printf("\t\t\t((%s) theBean).%s((%s) theValue);%n", aBean, aProperty.mSetter.getSimpleName(), boxed(aProperty.mSetterType));
+				}
+				else {
+					aOut.printf("\t\t\tthrow new NoSuchMethodException(\"Property '%s' has no setter method\");%n", aProperty.mName);
+				}
+				aOut.printf("\t\t}%n\t};%n");
+			}
+
+			aOut.printf("%n\tprivate static final java.util.List<String> IDS = java.util.Collections.unmodifiableList(java.util.Arrays.<String>asList(");
+			aOut.print(String.join(", ", aIds.stream().map(theId -> "\"" + theId + "\"").toArray(String[]::new)));
+			aOut.printf("));%n");
+
+			aOut.printf("%n\t@Override%n\tpublic Class<%s> beanClass() {%n\t\treturn %s.class;%n\t}%n", aBean, aBean);
+
+			aOut.printf("%n\t@Override%n\tpublic %s newInstance() {%n", aBean);
+			if (hasDefaultConstructor(theType)) {
+				aOut.printf("\t\treturn new %s();%n", aBean);
+			}
+			else {
+				aOut.printf("\t\tthrow new com.complexible.pinto.RDFMappingException(\"Could not create an instance of %s, it does not have a default constructor\");%n",
+				            aBean);
+			}
+			aOut.printf("\t}%n");
+
+			aOut.printf("%n\t@Override%n\tpublic java.util.List<java.beans.PropertyDescriptor> properties() throws java.beans.IntrospectionException, NoSuchMethodException {%n");
+			aOut.printf("\t\treturn java.util.Arrays.<java.beans.PropertyDescriptor>asList(");
+			String aSep = "";
+			for (Property aProperty : aProperties.values()) {
+				// the setter is looked up by the erasure of the parameter type it declares, not the type it has as a
+				// member of the bean, which differs when the setter is inherited from a generic superclass
+				aOut.printf("%s%n\t\t\tnew java.beans.PropertyDescriptor(\"%s\", %s, %s)", aSep, aProperty.mName,
+				            aProperty.mGetter == null ? "null" : String.format("%s.class.getMethod(\"%s\")", aBean, aProperty.mGetter.getSimpleName()),
+				            aProperty.mSetter == null ? "null" : String.format("%s.class.getMethod(\"%s\", %s.class)", aBean, aProperty.mSetter.getSimpleName(),
+				                                                               mTypes.erasure(aProperty.mSetter.getParameters().get(0).asType())));
+				aSep = ",";
+			}
+			aOut.printf(");%n\t}%n");
+
+			aOut.printf("%n\t@Override%n\tpublic com.complexible.pinto.PropertyAccessor accessor(final String theProperty) {%n");
+			aOut.printf("\t\tswitch (theProperty) {%n");
+			aIndex = 0;
+			for (Property aProperty : aProperties.values()) {
+				aOut.printf("\t\t\tcase \"%s\": return P%d;%n", aProperty.mName, aIndex++);
+			}
+			aOut.printf("\t\t\tdefault: return null;%n\t\t}%n\t}%n");
+
+			aOut.printf("%n\t@Override%n\tpublic java.util.List<String> ids() {%n\t\treturn IDS;%n\t}%n");
+
+			aOut.printf("}%n");
+		}
+	}
+
+	private static boolean hasDefaultConstructor(final TypeElement theType) {
+		if (theType.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+
+		for (ExecutableElement aConstructor : ElementFilter.constructorsIn(theType.getEnclosedElements())) {
+			if (aConstructor.getParameters().isEmpty() && !aConstructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private String boxed(final TypeMirror theType) {
+		return theType.getKind().isPrimitive()
+		       ? mTypes.boxedClass((javax.lang.model.type.PrimitiveType) theType).getQualifiedName().toString()
+		       : mTypes.erasure(theType).toString();
+	}
+
+	/**
+	 * A bean property found on the class being processed
+	 */
+	private final class Property {
+		private final String mName;
+
+		private ExecutableElement mGetter;
+
+		private TypeMirror mGetterType;
+
+		private boolean mBooleanGetter;
+
+		private final List<ExecutableElement> mSetters = new ArrayList<>();
+
+		private final List<TypeMirror> mSetterTypes = new ArrayList<>();
+
+		private ExecutableElement mSetter;
+
+		private TypeMirror mSetterType;
+
+		Property(final String theName) {
+			mName = theName;
+		}
+
+		void getter(final ExecutableElement theMethod, final TypeMirror theType, final boolean theIsGetter) {
+			// like bean introspection, isX() wins over getX() for boolean properties
+			if (mGetter == null || (theIsGetter && !mBooleanGetter)) {
+				mGetter = theMethod;
+				mGetterType = theType;
+				mBooleanGetter = theIsGetter;
+			}
+		}
+
+		void setter(final ExecutableElement theMethod, final TypeMirror theType) {
+			mSetters.add(theMethod);
+			mSetterTypes.add(theType);
+		}
+
+		/**
+		 * Pick the setter for the property; the one whose parameter matches the getter, or the only setter there is
+		 */
+		void resolve() {
+			for (int i = 0; i < mSetters.size(); i++) {
+				final TypeMirror aType = mSetterTypes.get(i);
+
+				if (mGetter != null ? mTypes.isSameType(mTypes.erasure(aType), mTypes.erasure(mGetterType))
+				                    : mSetters.size() == 1) {
+					mSetter = mSetters.get(i);
+					mSetterType = aType;
+					return;
+				}
+			}
+		}
+	}
+}
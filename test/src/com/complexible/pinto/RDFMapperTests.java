@@ -24,29 +24,43 @@ import com.complexible.pinto.annotations.RdfId;
 import com.complexible.pinto.annotations.RdfProperty;
 import com.complexible.pinto.annotations.RdfsClass;
 import com.complexible.pinto.codecs.UUIDCodec;
+import com.complexible.pinto.codecs.UUIDLiteralCodec;
+import com.complexible.pinto.impl.DoubleList;
 import com.complexible.pinto.impl.IdentifiableImpl;
+import com.complexible.pinto.impl.IntList;
+import com.complexible.pinto.impl.LongList;
 import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.openrdf.model.*;
+import org.openrdf.model.impl.LinkedHashModel;
 import org.openrdf.model.impl.SimpleValueFactory;
 import org.openrdf.model.util.Models;
+import org.openrdf.model.vocabulary.RDF;
 import org.openrdf.model.vocabulary.XMLSchema;
 import org.openrdf.rio.RDFFormat;
-import sun.reflect.generics.reflectiveObjects.WildcardTypeImpl;
-import sun.reflect.generics.tree.Wildcard;
+import org.openrdf.rio.RDFHandler;
+import org.openrdf.rio.Rio;
+import org.openrdf.rio.helpers.StatementCollector;
 
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
 import java.io.*;
-import java.lang.reflect.WildcardType;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -281,6 +295,56 @@ public class RDFMapperTests {
 		assertEquals(aExpected, aResult);
 	}
 
+	@Test
+	public void testLongRdfList() throws Exception {
+		final ClassWithPrimitiveRdfList aObj = new ClassWithPrimitiveRdfList();
+		aObj.id(SimpleValueFactory.getInstance().createIRI("urn:testLongRdfList"));
+		aObj.setInts(Lists.newArrayList());
+
+		for (int i = 0; i < 50000; i++) {
+			aObj.getInts().add(i);
+		}
+
+		final Model aGraph = RDFMapper.create().writeValue(aObj);
+
+		// an rdf:first and rdf:rest per element, plus the link to the head of the list
+		assertEquals(100001, aGraph.size());
+
+		assertEquals(aObj.getInts(), RDFMapper.create().readValue(aGraph, ClassWithPrimitiveRdfList.class, aObj.id()).getInts());
+	}
+
+	@Test(expected = RDFMappingException.class)
+	public void testReadCyclicRdfList() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+		final IRI aId = aFactory.createIRI("urn:testReadCyclicRdfList");
+		final BNode aFirst = aFactory.createBNode();
+		final BNode aSecond = aFactory.createBNode();
+
+		final Model aGraph = Models2.newModel();
+		aGraph.add(aId, aFactory.createIRI(RDFMapper.DEFAULT_NAMESPACE, "ints"), aFirst);
+		aGraph.add(aFirst, RDF.FIRST, aFactory.createLiteral(1));
+		aGraph.add(aFirst, RDF.REST, aSecond);
+		aGraph.add(aSecond, RDF.FIRST, aFactory.createLiteral(2));
+		aGraph.add(aSecond, RDF.REST, aFirst);
+
+		RDFMapper.create().readValue(aGraph, ClassWithPrimitiveRdfList.class, aId);
+	}
+
+	@Test(expected = RDFMappingException.class)
+	public void testReadMalformedRdfList() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+		final IRI aId = aFactory.createIRI("urn:testReadMalformedRdfList");
+		final BNode aFirst = aFactory.createBNode();
+
+		final Model aGraph = Models2.newModel();
+		aGraph.add(aId, aFactory.createIRI(RDFMapper.DEFAULT_NAMESPACE, "ints"), aFirst);
+		aGraph.add(aFirst, RDF.FIRST, aFactory.createLiteral(1));
+		aGraph.add(aFirst, RDF.FIRST, aFactory.createLiteral(2));
+		aGraph.add(aFirst, RDF.REST, RDF.NIL);
+
+		RDFMapper.create().readValue(aGraph, ClassWithPrimitiveRdfList.class, aId);
+	}
+
 	@Test
 	public void testReadListOfObjects() throws Exception {
 		Model aGraph = ModelIO.read(Files3.classPath("/data/object_lists.nt").toPath());
@@ -518,6 +582,29 @@ public class RDFMapperTests {
 		assertTrue(aCompany.getName().equals("Complexible") || aCompany.getName().equals("Clark & Parsia"));
 	}
 
+	@Test
+	public void testPropertyAccessors() throws Exception {
+		final Model aExpected = ModelIO.read(Files3.classPath("/data/primitives.nt").toPath());
+
+		for (PropertyAccessors aAccessors : PropertyAccessors.values()) {
+			RDFMapper aMapper = RDFMapper.builder()
+			                             .accessors(aAccessors)
+			                             .build();
+
+			ClassWithPrimitives aObj = new ClassWithPrimitives();
+			aObj.setString("str value");
+			aObj.setInt(8);
+			aObj.setURI(java.net.URI.create("urn:any"));
+			aObj.setFloat(4.5f);
+			aObj.setDouble(20.22);
+			aObj.setChar('o');
+			aObj.id(SimpleValueFactory.getInstance().createIRI("tag:complexible:pinto:3d1c9ece37c3f9ee6068440cf9a383cc"));
+
+			assertTrue(aAccessors.name(), Models.isomorphic(aMapper.writeValue(aObj), aExpected));
+			assertEquals(aAccessors.name(), aObj, aMapper.readValue(aExpected, ClassWithPrimitives.class));
+		}
+	}
+
 	@Test
 	public void testAnnotationsWithInvalidURI() throws Exception {
 		BadCompany aCompany = new BadCompany();
@@ -699,6 +786,45 @@ public class RDFMapperTests {
 		assertEquals(UUID.fromString("0110f311-964b-440d-b772-92c621c5d1e4"), aResult);
 	}
 
+	@Test
+	public void testLiteralCodec() throws Exception {
+		final ClassWithCodecValues aObj = new ClassWithCodecValues();
+		aObj.setUUID(UUID.fromString("0110f311-964b-440d-b772-92c621c5d1e4"));
+		aObj.setUUIDs(Lists.newArrayList(UUID.fromString("1e4a1ea3-5a8b-4b8e-a2a4-4c1a1cbd1a3f"),
+		                                 UUID.fromString("7b7c4a2e-3f4d-4a1b-9c7e-2a1d5e6f7a8b")));
+		aObj.setPrice(new java.math.BigDecimal("19.99"));
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .codec(UUID.class, UUIDLiteralCodec.Instance)
+		                                   .codec(Number.class, new LiteralCodec<Number>() {
+			                                   @Override
+			                                   public IRI datatype() {
+				                                   return XMLSchema.DECIMAL;
+			                                   }
+
+			                                   @Override
+			                                   public Literal writeValue(final Number theValue) {
+				                                   return SimpleValueFactory.getInstance().createLiteral(theValue.toString(), XMLSchema.DECIMAL);
+			                                   }
+
+			                                   @Override
+			                                   public Number decode(final Literal theLiteral) {
+				                                   return new java.math.BigDecimal(theLiteral.getLabel());
+			                                   }
+		                                   })
+		                                   .build();
+
+		final Model aGraph = aMapper.writeValue(aObj);
+
+		// one statement per value, no blank nodes; the codec for Number is found for BigDecimal
+		assertEquals(4, aGraph.size());
+		assertTrue(aGraph.objects().stream().allMatch(theValue -> theValue instanceof Literal));
+		assertTrue(aGraph.contains(null, null, UUIDLiteralCodec.Instance.writeValue(aObj.getUUID())));
+		assertTrue(aGraph.contains(null, null, SimpleValueFactory.getInstance().createLiteral("19.99", XMLSchema.DECIMAL)));
+
+		assertEquals(aObj, aMapper.readValue(aGraph, ClassWithCodecValues.class));
+	}
+
 	@Test
 	public void testWriteMap() throws Exception {
 		final ClassWithMap aObj = new ClassWithMap();
@@ -720,24 +846,1132 @@ public class RDFMapperTests {
 	}
 
 	@Test
-	public void testReadMap() throws Exception {
-		final ClassWithMap aExpected = new ClassWithMap();
+	public void testReadMap() throws Exception {
+		final ClassWithMap aExpected = new ClassWithMap();
+
+		aExpected.mMap = Maps.newLinkedHashMap();
+
+		aExpected.mMap.put("bob", new Person("Bob the tester"));
+		aExpected.mMap.put(1L, "the size of something");
+		aExpected.mMap.put(new Date(1426361082470L), 57.4);
+		aExpected.mMap.put(new Person("another person"), new Company("The company"));
+
+		final Model aGraph = ModelIO.read(Files3.classPath("/data/map.nt").toPath());
+
+		assertEquals(aExpected, RDFMapper.builder()
+				.map(FOAF.ontology().Person, Person.class)
+				.map(SimpleValueFactory.getInstance().createIRI("urn:Company"), Company.class)
+				.build()
+				.readValue(aGraph, ClassWithMap.class,
+						SimpleValueFactory.getInstance().createIRI("tag:complexible:pinto:06f95e70fea33fcd99e6804b02f96cc9")));
+	}
+
+	@Test
+	public void testGenericTypes() throws Exception {
+		final Map<String, Type> aTypes = Maps.newHashMap();
+
+		for (PropertyDescriptor aDescriptor : Introspector.getBeanInfo(ClassWithGenerics.class).getPropertyDescriptors()) {
+			aTypes.put(aDescriptor.getName(), GenericTypes.propertyType(aDescriptor));
+		}
+
+		assertEquals(Number.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("numbers"), Collection.class, 0)));
+		assertEquals(Integer.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("integers"), Collection.class, 0)));
+		assertEquals(String.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("people"), Map.class, 0)));
+		assertEquals(List.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("people"), Map.class, 1)));
+
+		// type arguments bound by a subclass of the collection
+		assertEquals(String.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("names"), Collection.class, 0)));
+		assertEquals(String.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("companies"), Map.class, 0)));
+		assertEquals(Company.class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("companies"), Map.class, 1)));
+
+		// raw types and things which are not collections have no type argument
+		assertNull(GenericTypes.typeArgument(List.class, Collection.class, 0));
+		assertNull(GenericTypes.typeArgument(String.class, Collection.class, 0));
+
+		assertEquals(List[].class, GenericTypes.rawClass(GenericTypes.typeArgument(aTypes.get("groups"), Collection.class, 0)));
+	}
+
+	@Test
+	public void testTypeResolver() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+		final IRI aNumber = aFactory.createIRI("urn:Number");
+		final IRI aInteger = aFactory.createIRI("urn:Integer");
+		final IRI aString = aFactory.createIRI("urn:String");
+		final IRI aUnmapped = aFactory.createIRI("urn:Unmapped");
+
+		final Map<IRI, Class<?>> aMappings = Maps.newHashMap();
+		aMappings.put(aNumber, Number.class);
+		aMappings.put(aInteger, Integer.class);
+		aMappings.put(aString, String.class);
+
+		final TypeResolver aResolver = new TypeResolver(aMappings);
+
+		assertNull(aResolver.first(Collections.<Value>emptyList()));
+		assertNull(aResolver.mostSpecific(Arrays.<Value>asList(aUnmapped)));
+
+		assertEquals(Number.class, aResolver.first(Arrays.<Value>asList(aUnmapped, aNumber, aInteger)));
+		assertEquals(Integer.class, aResolver.mostSpecific(Arrays.<Value>asList(aUnmapped, aNumber, aInteger)));
+
+		// a superclass does not replace the subclass that was already found
+		assertEquals(Integer.class, aResolver.mostSpecific(Arrays.<Value>asList(aInteger, aNumber)));
+
+		// nor does an unrelated class
+		assertEquals(Number.class, aResolver.mostSpecific(Arrays.<Value>asList(aNumber, aString)));
+
+		// the cached resolution is the same
+		assertEquals(Integer.class, aResolver.mostSpecific(Lists.<Value>newArrayList(aUnmapped, aNumber, aInteger)));
+	}
+
+	@Test
+	public void testCompactMap() throws Exception {
+		final ClassWithAttributes aObj = new ClassWithAttributes();
+		aObj.setName("attributes");
+		aObj.setAttributes(Maps.newHashMap());
+		aObj.getAttributes().put("height", 180);
+		aObj.getAttributes().put("shoe size", 44);
+		aObj.getAttributes().put("http://example.com/weight#kg", 75);
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .set(MappingOptions.COMPACT_MAPS, true)
+		                                   .build();
+
+		final Model aCompact = Models2.newModel();
+		final Resource aId = aMapper.writeValue(aObj, aCompact);
+
+		final Model aGraph = RDFMapper.create().writeValue(aObj);
+
+		// name, the map, and one per entry, rather than three per entry
+		assertEquals(5, aCompact.size());
+		assertEquals(11, aGraph.size());
+
+		// each entry is one assertion whose predicate is the key
+		assertTrue(aCompact.filter(null, RDFMapper.HAS_ENTRY, null).isEmpty());
+		assertEquals(3, aGraph.filter(null, RDFMapper.HAS_ENTRY, null).size());
+
+		final Set<String> aKeys = Sets.newHashSet();
+		for (IRI aPredicate : aCompact.predicates()) {
+			if (aPredicate.stringValue().startsWith(RDFMapper.MAP_KEY_NAMESPACE)) {
+				aKeys.add(aPredicate.stringValue().substring(RDFMapper.MAP_KEY_NAMESPACE.length()));
+			}
+		}
+
+		assertEquals(Sets.newHashSet("height", "shoe+size", "http%3A%2F%2Fexample.com%2Fweight%23kg"), aKeys);
+
+		assertEquals(aObj, aMapper.readValue(aCompact, ClassWithAttributes.class, aId));
+
+		// either form can be read regardless of the option
+		assertEquals(aObj, RDFMapper.create().readValue(aCompact, ClassWithAttributes.class, aId));
+		assertEquals(aObj, aMapper.readValue(aGraph, ClassWithAttributes.class, aId));
+	}
+
+	@Test
+	public void testPackedArrays() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setInts(new int[] { 1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE });
+		aObj.setLongs(new long[] { Long.MIN_VALUE, 0, Long.MAX_VALUE });
+		aObj.setShorts(new short[] { 7, -7 });
+		aObj.setDoubles(new double[] { 0.1, -2.5e300, Double.MIN_VALUE });
+		aObj.setFloats(new float[] { 0.1f, 3.4028235e38f });
+		aObj.setBytes(new byte[] { 0, 1, -1, 127, -128 });
+		aObj.setReadings(Lists.newArrayList(20, 21, 19));
+
+		final Model aGraph = RDFMapper.create().writeValue(aObj);
+
+		// one literal per array, primitive arrays are always packed.  the collection is not packed by default
+		assertEquals(9, aGraph.size());
+		assertTrue(aGraph.contains(null, null, SimpleValueFactory.getInstance().createLiteral("1 -2 2147483647 -2147483648", PackedLiterals.PACKED)));
+		assertTrue(aGraph.contains(null, null, SimpleValueFactory.getInstance().createLiteral("AAH/f4A=", XMLSchema.BASE64BINARY)));
+
+		assertEquals(aObj, RDFMapper.create().readValue(aGraph, ClassWithPackedValues.class));
+	}
+
+	@Test
+	public void testPackedCollections() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList(20, 21, 19, 21));
+		aObj.setTemperatures(Lists.newArrayList(20.5, -1.25));
+
+		final Model aDefault = RDFMapper.create().writeValue(aObj);
+
+		// temperatures are @RdfProperty(packed = true), readings are one assertion per distinct value
+		assertEquals(4, aDefault.size());
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .set(MappingOptions.PACK_COLLECTIONS, true)
+		                                   .build();
+
+		final Model aPacked = aMapper.writeValue(aObj);
+
+		assertEquals(2, aPacked.size());
+		assertTrue(aPacked.contains(null, null, SimpleValueFactory.getInstance().createLiteral("20 21 19 21", PackedLiterals.PACKED)));
+		assertTrue(aPacked.contains(null, null, SimpleValueFactory.getInstance().createLiteral("20.5 -1.25", PackedLiterals.PACKED)));
+
+		final ClassWithPackedValues aResult = aMapper.readValue(aPacked, ClassWithPackedValues.class);
+
+		assertEquals(aObj.getReadings(), aResult.getReadings());
+		assertEquals(aObj.getTemperatures(), aResult.getTemperatures());
+
+		// packed collections are read regardless of the option, and unpacked ones when it is set
+		assertEquals(aObj.getReadings(), RDFMapper.create().readValue(aPacked, ClassWithPackedValues.class).getReadings());
+		assertEquals(Sets.newHashSet(aObj.getReadings()),
+		             Sets.newHashSet(aMapper.readValue(aDefault, ClassWithPackedValues.class).getReadings()));
+	}
+
+	@Test
+	public void testPackedCollectionWithNull() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setTemperatures(Lists.newArrayList(20.5, null, -1.25));
+
+		// the positions of the elements after the null would be lost
+		try {
+			RDFMapper.create().writeValue(aObj);
+			fail("A collection containing null should not be packed");
+		}
+		catch (RDFMappingException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void performanceTestPackedCollections() {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList());
+
+		for (int i = 0; i < 10000; ++i) {
+			aObj.getReadings().add(i);
+		}
+
+		for (boolean aPack : new boolean[] { false, true }) {
+			final RDFMapper aMapper = RDFMapper.builder().set(MappingOptions.PACK_COLLECTIONS, aPack).build();
+
+			ArrayList<Long> times = new ArrayList<>();
+			Model aGraph = null;
+
+			for (int j = 0; j < 5; ++j) {
+				long start = System.nanoTime();
+
+				aGraph = aMapper.writeValue(aObj);
+				aMapper.readValue(aGraph, ClassWithPackedValues.class);
+
+				times.add(System.nanoTime() - start);
+			}
+
+			System.out.println("Elapsed time round-tripping 10 000 readings " + (aPack ? "packed" : "unpacked")
+			                   + " as " + aGraph.size() + " statements: " + times + "ns");
+		}
+	}
+
+	@Test
+	public void testCollectionFactoryExpectedSize() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList(20, 21, 19));
+		aObj.setTemperatures(Lists.newArrayList(20.5, -1.25));
+
+		final Map<String, Integer> aSizes = Maps.newHashMap();
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .collectionFactory(new RDFMapper.DefaultCollectionFactory() {
+			                                   @Override
+			                                   public Collection create(final PropertyDescriptor theDescriptor, final int theExpectedSize) {
+				                                   aSizes.put(theDescriptor.getName(), theExpectedSize);
+				                                   return super.create(theDescriptor, theExpectedSize);
+			                                   }
+		                                   })
+		                                   .build();
+
+		final ClassWithPackedValues aResult = aMapper.readValue(aMapper.writeValue(aObj), ClassWithPackedValues.class);
+
+		assertEquals(aObj, aResult);
+
+		// one assertion per reading, and one packed literal of the temperatures
+		assertEquals(ImmutableMap.of("readings", 3, "temperatures", 2), aSizes);
+	}
+
+	@Test
+	public void testPrimitiveCollectionFactory() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList(20, 21, 19));
+		aObj.setTemperatures(Lists.newArrayList(20.5, -1.25));
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .collectionFactory(new RDFMapper.PrimitiveCollectionFactory())
+		                                   .build();
+
+		final ClassWithPackedValues aResult = aMapper.readValue(aMapper.writeValue(aObj), ClassWithPackedValues.class);
+
+		assertEquals(aObj, aResult);
+		assertTrue(aResult.getReadings() instanceof IntList);
+		assertTrue(aResult.getTemperatures() instanceof DoubleList);
+		assertEquals(aObj.getTemperatures(), aResult.getTemperatures());
+	}
+
+	@Test
+	public void testPrimitiveCollectionFactoryMismatchedDatatype() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList(20, 21, 19));
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .collectionFactory(new RDFMapper.PrimitiveCollectionFactory())
+		                                   .build();
+
+		// the readings are asserted as xsd:long rather than the xsd:int they were written as
+		final Model aGraph = Models2.newModel();
+		for (Statement aStmt : aMapper.writeValue(aObj)) {
+			if (aStmt.getObject() instanceof Literal && XMLSchema.INT.equals(((Literal) aStmt.getObject()).getDatatype())) {
+				aGraph.add(aStmt.getSubject(), aStmt.getPredicate(),
+				           SimpleValueFactory.getInstance().createLiteral(((Literal) aStmt.getObject()).longValue()));
+			}
+			else {
+				aGraph.add(aStmt);
+			}
+		}
+
+		final ClassWithPackedValues aResult = aMapper.readValue(aGraph, ClassWithPackedValues.class);
+
+		assertTrue(aResult.getReadings() instanceof IntList);
+		assertEquals(Sets.newHashSet(aObj.getReadings()), Sets.newHashSet(aResult.getReadings()));
+	}
+
+	@Test
+	public void testCollectionElementOverflow() throws Exception {
+		final ClassWithPackedValues aObj = new ClassWithPackedValues();
+		aObj.setReadings(Lists.newArrayList(20));
+
+		final Model aGraph = Models2.newModel();
+		final Resource aId = RDFMapper.create().writeValue(aObj, aGraph);
+
+		// a reading of 2^40 does not fit in an Integer
+		final Statement aReading = aGraph.filter(aId, null, SimpleValueFactory.getInstance().createLiteral(20)).iterator().next();
+		aGraph.remove(aReading);
+		aGraph.add(aId, aReading.getPredicate(), SimpleValueFactory.getInstance().createLiteral(1L << 40));
+
+		for (RDFMapper aMapper : Arrays.asList(RDFMapper.create(),
+		                                      RDFMapper.builder()
+		                                               .collectionFactory(new RDFMapper.PrimitiveCollectionFactory())
+		                                               .build())) {
+			try {
+				aMapper.readValue(aGraph, ClassWithPackedValues.class, aId);
+				fail("A reading out of the range of an Integer should not be narrowed");
+			}
+			catch (RDFMappingException e) {
+				assertTrue(e.getMessage(), e.getMessage().contains("readings"));
+			}
+		}
+
+		// nor can a packed reading
+		final Model aPacked = Models2.newModel();
+		aPacked.add(aId, aReading.getPredicate(), SimpleValueFactory.getInstance().createLiteral("20 " + (1L << 40), PackedLiterals.PACKED));
+
+		try {
+			RDFMapper.builder()
+			         .collectionFactory(new RDFMapper.PrimitiveCollectionFactory())
+			         .build()
+			         .readValue(aPacked, ClassWithPackedValues.class, aId);
+			fail("A packed reading out of the range of an Integer should not be narrowed");
+		}
+		catch (RDFMappingException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPrimitiveLists() throws Exception {
+		final IntList aInts = new IntList();
+		final List<Integer> aExpected = Lists.newArrayList();
+
+		for (int i = 0; i < 100; i++) {
+			aInts.add(i);
+			aExpected.add(i);
+		}
+
+		aInts.add(0, -1);
+		aExpected.add(0, -1);
+
+		assertEquals(Integer.valueOf(50), aInts.remove(51));
+		aExpected.remove(51);
+
+		aInts.set(10, 1000);
+		aExpected.set(10, 1000);
+
+		assertEquals(aExpected, aInts);
+		assertEquals(aExpected.hashCode(), aInts.hashCode());
+		assertEquals(1000, aInts.getInt(10));
+		assertEquals(aExpected.size(), aInts.toIntArray().length);
+
+		final LongList aLongs = new LongList(2);
+		aLongs.addAll(Arrays.asList(1L, 2L, 3L));
+
+		assertEquals(Arrays.asList(1L, 2L, 3L), aLongs);
+
+		aLongs.clear();
+
+		assertTrue(aLongs.isEmpty());
+
+		try {
+			new DoubleList().add(null);
+			fail("Null elements are not permitted");
+		}
+		catch (NullPointerException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = RDFMappingException.class)
+	public void testReadInvalidPackedLiteral() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+
+		final Model aGraph = new LinkedHashModel();
+		aGraph.add(aFactory.createIRI("urn:testReadInvalidPackedLiteral"), aFactory.createIRI(RDFMapper.DEFAULT_NAMESPACE, "ints"),
+		           aFactory.createLiteral("1 2 three", PackedLiterals.PACKED));
+
+		RDFMapper.create().readValue(aGraph, ClassWithPackedValues.class);
+	}
+
+	@Test
+	public void testReadAll() throws Exception {
+		final RDFMapper aMapper = RDFMapper.create();
+
+		final Company aCompany = new Company("Clark & Parsia");
+		aCompany.setWebsite("http://clarkparsia.com");
+
+		final Company aOtherCompany = new Company("Complexible");
+		aOtherCompany.setWebsite("http://complexible.com");
+
+		final Model aGraph = aMapper.writeValue(aCompany);
+		aGraph.addAll(aMapper.writeValue(aOtherCompany));
+		aGraph.addAll(aMapper.writeValue(new Person("Michael Grove")));
+
+		assertEquals(Sets.newHashSet(aCompany, aOtherCompany), Sets.newHashSet(aMapper.readAll(aGraph, Company.class)));
+		assertTrue(aMapper.readAll(aMapper.writeValue(new Person("Michael Grove")), Company.class).isEmpty());
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		final RDFMapper aMapper = RDFMapper.create();
+
+		final Model aGraph = Models2.newModel();
+		final Set<Company> aCompanies = Sets.newHashSet();
+
+		for (int i = 0; i < 1000; i++) {
+			final Company aCompany = new Company("Company " + i);
+			aCompany.setWebsite("http://example.com/" + i);
+
+			aCompanies.add(aCompany);
+			aMapper.writeValue(aCompany, aGraph);
+		}
+
+		aMapper.writeValue(new Person("Michael Grove"), aGraph);
+
+		assertEquals(aCompanies, aMapper.stream(aGraph, Company.class).collect(Collectors.toSet()));
+		assertEquals(aCompanies, aMapper.stream(aGraph, Company.class).parallel().collect(Collectors.toSet()));
+		assertEquals(1000, aMapper.stream(aGraph, Company.class).parallel().count());
+
+		final Spliterator<Company> aSpliterator = aMapper.stream(aGraph, Company.class).spliterator();
+		final Spliterator<Company> aPrefix = aSpliterator.trySplit();
+
+		assertNotNull(aPrefix);
+		assertEquals(1000, aPrefix.estimateSize() + aSpliterator.estimateSize());
+	}
+
+	@Test
+	public void testToModel() throws Exception {
+		final RDFMapper aMapper = RDFMapper.create();
+
+		final List<Company> aCompanies = Lists.newArrayList();
+		final Model aExpected = Models2.newModel();
+
+		for (int i = 0; i < 1000; i++) {
+			final Company aCompany = new Company("Company " + i);
+			aCompany.setWebsite("http://example.com/" + i);
+
+			aCompanies.add(aCompany);
+			aMapper.writeValue(aCompany, aExpected);
+		}
+
+		assertEquals(aExpected, aCompanies.stream().collect(aMapper.toModel()));
+		assertEquals(aExpected, aCompanies.parallelStream().collect(aMapper.toModel()));
+
+		assertTrue(Stream.<Company>empty().collect(aMapper.toModel()).isEmpty());
+	}
+
+	@Test
+	public void testStreamingReader() throws Exception {
+		final RDFMapper aMapper = RDFMapper.create();
+
+		final List<Company> aCompanies = Lists.newArrayList();
+		for (int i = 0; i < 10; i++) {
+			final Company aCompany = new Company("Company " + i);
+			aCompany.setWebsite("http://company" + i + ".com");
+			aCompany.setNumberOfEmployees(i);
+
+			aCompanies.add(aCompany);
+		}
+
+		final StringWriter aOut = new StringWriter();
+		for (Company aCompany : aCompanies) {
+			Rio.write(aMapper.writeValue(aCompany), aOut, RDFFormat.NTRIPLES);
+		}
+
+		final List<Company> aResults = Lists.newArrayList();
+
+		Rio.createParser(RDFFormat.NTRIPLES)
+		   .setRDFHandler(aMapper.reader(Company.class, aResults::add))
+		   .parse(new StringReader(aOut.toString()), "");
+
+		assertEquals(aCompanies, aResults);
+
+		for (int i = 0; i < aResults.size(); i++) {
+			assertEquals(Integer.valueOf(i), aResults.get(i).getNumberOfEmployees());
+		}
+	}
+
+	@Test
+	public void testStreamingReaderSharedNestedObject() throws Exception {
+		final IRI aType = SimpleValueFactory.getInstance().createIRI("urn:ClassWithObjectList");
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .map(aType, ClassWithObjectList.class)
+		                                   .build();
+
+		final Person aShared = new Person("Cal Ripken");
+		final Resource aSharedId = aMapper.writeValue(aShared).subjects().iterator().next();
+
+		final List<ClassWithObjectList> aObjects = Lists.newArrayList();
+		final List<Statement> aStatements = Lists.newArrayList();
+
+		for (int i = 0; i < 2; i++) {
+			final ClassWithObjectList aObj = new ClassWithObjectList();
+			aObj.setList(Lists.newArrayList(new Person("Jim Palmer " + i), aShared));
+
+			aObjects.add(aObj);
+
+			// the instance, then its nested objects, describing the shared object only the first time, as a writer
+			// which writes each object once does
+			final Model aGraph = aMapper.writeValue(aObj);
+			final Resource aInstance = aGraph.filter(null, RDF.TYPE, aType).subjects().iterator().next();
+
+			aStatements.addAll(aGraph.filter(aInstance, null, null));
+
+			for (Resource aSubject : aGraph.subjects()) {
+				if (!aSubject.equals(aInstance) && (i == 0 || !aSubject.equals(aSharedId))) {
+					aStatements.addAll(aGraph.filter(aSubject, null, null));
+				}
+			}
+		}
+
+		final List<ClassWithObjectList> aResults = Lists.newArrayList();
+		final RDFHandler aReader = aMapper.reader(ClassWithObjectList.class, aResults::add);
+
+		aReader.startRDF();
+		for (Statement aStmt : aStatements) {
+			aReader.handleStatement(aStmt);
+		}
+		aReader.endRDF();
+
+		assertEquals(aObjects, aResults);
+		assertEquals(aShared, aResults.get(1).getList().get(1));
+	}
+
+	@Test
+	public void testWriteToModel() throws Exception {
+		final Company aCompany = new Company("Clark & Parsia");
+		aCompany.setWebsite("http://clarkparsia.com");
+
+		final Model aGraph = RDFMapper.create().writeValue(new Person("Michael Grove"));
+		final int aSize = aGraph.size();
+
+		final Resource aId = RDFMapper.create().writeValue(aCompany, aGraph);
+
+		assertEquals(aSize + RDFMapper.create().writeValue(aCompany).size(), aGraph.size());
+		assertEquals(aCompany, RDFMapper.create().readValue(aGraph, Company.class, aId));
+	}
+
+	@Test
+	public void testWriteToHandler() throws Exception {
+		final ClassWithRdfObjectList aObj = new ClassWithRdfObjectList();
+		aObj.setList(Lists.newArrayList(new Person("Earl Weaver"), new Person("Brooks Robinson")));
+
+		final Model aGraph = Models2.newModel();
+
+		RDFMapper.create().writeValue(aObj, new StatementCollector(aGraph));
+
+		assertTrue(Models.isomorphic(RDFMapper.create().writeValue(aObj), aGraph));
+	}
+
+	@Test
+	public void testWriteAll() throws Exception {
+		final RDFMapper aMapper = RDFMapper.create();
+
+		final ClassWithReference aShared = new ClassWithReference("shared");
+
+		final ClassWithReference aFirst = new ClassWithReference("first");
+		aFirst.setReference(aShared);
+
+		final ClassWithReference aSecond = new ClassWithReference("second");
+		aSecond.setReference(aShared);
+
+		// the same object twice
+		final List<ClassWithReference> aValues = Arrays.asList(aFirst, aSecond, aFirst);
+
+		final Model aExpected = Models2.newModel();
+		for (ClassWithReference aValue : aValues) {
+			aMapper.writeValue(aValue, aExpected);
+		}
+
+		final List<Statement> aStatements = Lists.newArrayList();
+		final MapperStats aStats = aMapper.stats();
+		aStats.reset();
+
+		aMapper.writeAll(aValues, new StatementCollector(aStatements));
+
+		// every statement is written exactly once
+		assertEquals(aExpected.size(), aStatements.size());
+		assertEquals(aExpected, new LinkedHashModel(aStatements));
+
+		assertEquals(3, aStats.beansWritten());
+		assertEquals(aStatements.size(), aStats.statementsWritten());
+		assertTrue(aStats.statementsPerSecond() > 0);
+
+		final Model aGraph = Models2.newModel();
+		aMapper.writeAll(aValues, aGraph);
+
+		assertEquals(aExpected, aGraph);
+	}
+
+	@Test
+	public void testWriteAllDistinctStatements() throws Exception {
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .set(MappingOptions.DISTINCT_STATEMENTS, true)
+		                                   .build();
+
+		// two objects which are not equal, but share an rdf:ID, and so most of their statements
+		final ClassWithReference aFirst = new ClassWithReference("same");
+		aFirst.setReference(new ClassWithReference("first"));
+
+		final ClassWithReference aSecond = new ClassWithReference("same");
+		aSecond.setReference(new ClassWithReference("second"));
+
+		assertFalse(aFirst.equals(aSecond));
+
+		final Model aExpected = Models2.newModel();
+		aMapper.writeValue(aFirst, aExpected);
+		aMapper.writeValue(aSecond, aExpected);
+
+		final List<Statement> aStatements = Lists.newArrayList();
+		final MapperStats aStats = aMapper.stats();
+		aStats.reset();
+
+		aMapper.writeAll(Arrays.asList(aFirst, aSecond), new StatementCollector(aStatements));
+
+		assertEquals(aExpected.size(), aStatements.size());
+		assertEquals(aExpected, new LinkedHashModel(aStatements));
+		assertEquals(aStatements.size(), aStats.statementsWritten());
+
+		// objects are compared by identity, so without the option the common statements are repeated
+		final List<Statement> aRepeated = Lists.newArrayList();
+
+		RDFMapper.create().writeAll(Arrays.asList(aFirst, aSecond), new StatementCollector(aRepeated));
+
+		assertTrue(aRepeated.size() > aExpected.size());
+		assertEquals(aExpected, new LinkedHashModel(aRepeated));
+	}
+
+	@Test
+	public void testWriteGroupsStatementsBySubject() throws Exception {
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .map(SimpleValueFactory.getInstance().createIRI("urn:ClassWithObjectList"), ClassWithObjectList.class)
+		                                   .build();
+
+		final List<ClassWithObjectList> aObjects = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			ClassWithObjectList aObj = new ClassWithObjectList();
+			aObj.setCollection(Sets.newLinkedHashSet(Lists.newArrayList(new Person("Earl Weaver " + i), new Person("Brooks Robinson " + i))));
+			aObj.setList(Lists.newArrayList(new Person("Alejandro De Aza " + i), new Person("Adam Jones " + i)));
+
+			aObjects.add(aObj);
+		}
+
+		final List<Statement> aStatements = Lists.newArrayList();
+		final StatementCollector aCollector = new StatementCollector(aStatements);
+
+		for (ClassWithObjectList aObj : aObjects) {
+			aMapper.writeValue(aObj, aCollector);
+		}
+
+		final Set<Resource> aSeen = Sets.newHashSet();
+		Resource aLast = null;
+		for (Statement aStmt : aStatements) {
+			if (!aStmt.getSubject().equals(aLast)) {
+				assertTrue("Statements about " + aStmt.getSubject() + " are not contiguous", aSeen.add(aStmt.getSubject()));
+				aLast = aStmt.getSubject();
+			}
+		}
+
+		// which is what the streaming reader requires
+		final List<ClassWithObjectList> aResults = Lists.newArrayList();
+		final RDFHandler aReader = aMapper.reader(ClassWithObjectList.class, aResults::add);
+
+		aReader.startRDF();
+		for (Statement aStmt : aStatements) {
+			aReader.handleStatement(aStmt);
+		}
+		aReader.endRDF();
+
+		assertEquals(aObjects, aResults);
+	}
+
+	@Test
+	public void testReaderSharedNestedObject() throws Exception {
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .map(SimpleValueFactory.getInstance().createIRI("urn:ClassWithObjectList"), ClassWithObjectList.class)
+		                                   .build();
+
+		final Person aShared = new Person("Cal Ripken");
+
+		final List<ClassWithObjectList> aObjects = Lists.newArrayList();
+		for (int i = 0; i < 2; i++) {
+			ClassWithObjectList aObj = new ClassWithObjectList();
+			aObj.setCollection(Sets.newLinkedHashSet(Lists.newArrayList(aShared, new Person("Eddie Murray " + i))));
+			aObj.setList(Lists.newArrayList(new Person("Jim Palmer " + i), aShared));
+
+			aObjects.add(aObj);
+		}
+
+		final List<Statement> aStatements = Lists.newArrayList();
+		aMapper.writeAll(aObjects, new StatementCollector(aStatements));
+
+		// the shared object is only described in the first record
+		final Model aSharedGraph = Models2.newModel();
+		final Resource aSharedId = aMapper.writeValue(aShared, aSharedGraph);
+
+		assertEquals(aSharedGraph.size(), aStatements.stream().filter(theStmt -> theStmt.getSubject().equals(aSharedId)).count());
+
+		final List<ClassWithObjectList> aResults = Lists.newArrayList();
+		final RDFHandler aReader = aMapper.reader(ClassWithObjectList.class, aResults::add);
+
+		aReader.startRDF();
+		for (Statement aStmt : aStatements) {
+			aReader.handleStatement(aStmt);
+		}
+		aReader.endRDF();
+
+		assertEquals(aObjects, aResults);
+	}
+
+
+	@Test
+	public void testWriteCycle() throws Exception {
+		final ClassWithReference aFirst = new ClassWithReference("first");
+		final ClassWithReference aSecond = new ClassWithReference("second");
+
+		aFirst.setReference(aSecond);
+		aSecond.setReference(aFirst);
+
+		final List<Statement> aStatements = Lists.newArrayList();
+
+		final Resource aId = RDFMapper.create().writeValue(aFirst, new StatementCollector(aStatements));
+
+		// a name and a reference for each
+		assertEquals(4, aStatements.size());
+		assertTrue(aStatements.stream().anyMatch(theStmt -> theStmt.getObject().equals(aId) && !theStmt.getSubject().equals(aId)));
+	}
+
+	@Test
+	public void testWriteSharedObjectOnce() throws Exception {
+		final Person aPerson = new Person("Earl Weaver");
+
+		final ClassWithRdfObjectList aObj = new ClassWithRdfObjectList();
+		aObj.setList(Lists.newArrayList(aPerson, aPerson, aPerson));
+
+		final List<Statement> aStatements = Lists.newArrayList();
+
+		RDFMapper.create().writeValue(aObj, new StatementCollector(aStatements));
+
+		assertEquals(Sets.newHashSet(aStatements).size(), aStatements.size());
+		assertEquals(RDFMapper.create().writeValue(aObj).size(), aStatements.size());
+	}
+
+	@Test
+	public void testReadCycle() throws Exception {
+		final ClassWithReference aFirst = new ClassWithReference("first");
+		final ClassWithReference aSecond = new ClassWithReference("second");
+
+		aFirst.setReference(aSecond);
+		aSecond.setReference(aFirst);
+
+		final Model aGraph = Models2.newModel();
+		final Resource aId = RDFMapper.create().writeValue(aFirst, aGraph);
+
+		final ClassWithReference aResult = RDFMapper.create().readValue(aGraph, ClassWithReference.class, aId);
+
+		assertEquals(aFirst, aResult);
+		assertEquals(aSecond, aResult.getReference());
+		assertSame(aResult, aResult.getReference().getReference());
+	}
+
+	@Test
+	public void testReadSharedObjectOnce() throws Exception {
+		final ClassWithRdfObjectList aObj = new ClassWithRdfObjectList();
+		aObj.setList(Lists.newArrayList(new Person("Earl Weaver"), new Person("Earl Weaver")));
+
+		final Model aGraph = RDFMapper.create().writeValue(aObj);
+
+		final ClassWithRdfObjectList aResult = RDFMapper.create().readValue(aGraph, ClassWithRdfObjectList.class, aObj.id());
+
+		assertEquals(aObj, aResult);
+		assertSame(aResult.getList().get(0), aResult.getList().get(1));
+	}
+
+	@Test(expected = RDFMappingException.class)
+	public void testReadAllRequiresType() throws Exception {
+		RDFMapper.create().readAll(RDFMapper.create().writeValue(new Person("Michael Grove")), Person.class);
+	}
+
+	@Test
+	public void testCustomLiteralDecoder() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+		final IRI aDatatype = aFactory.createIRI("urn:upper");
+
+		final Person aPerson = new Person("Michael Grove");
+		final Model aGraph = RDFMapper.create().writeValue(aPerson);
+		final Resource aId = aPerson.id();
+
+		final Statement aName = aGraph.filter(aId, aFactory.createIRI(RDFMapper.DEFAULT_NAMESPACE + "name"), null).iterator().next();
+		aGraph.remove(aName);
+		aGraph.add(aId, aName.getPredicate(), aFactory.createLiteral("Michael Grove", aDatatype));
+
+		final RDFMapper aMapper = RDFMapper.builder()
+		                                   .decoder(aDatatype, theLiteral -> theLiteral.getLabel().toUpperCase())
+		                                   .build();
+
+		assertEquals("MICHAEL GROVE", aMapper.readValue(aGraph, Person.class, aId).getName());
+	}
+
+	@Test(expected = RDFMappingException.class)
+	public void testUnknownLiteralDatatype() throws Exception {
+		final ValueFactory aFactory = SimpleValueFactory.getInstance();
+
+		final Person aPerson = new Person("Michael Grove");
+		final Model aGraph = RDFMapper.create().writeValue(aPerson);
+		final Resource aId = aPerson.id();
+
+		final IRI aProperty = aFactory.createIRI(RDFMapper.DEFAULT_NAMESPACE + "name");
+		aGraph.remove(aId, aProperty, null);
+		aGraph.add(aId, aProperty, aFactory.createLiteral("Michael Grove", aFactory.createIRI("urn:unknown")));
+
+		RDFMapper.create().readValue(aGraph, Person.class, aId);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGeneratedMapping() throws Exception {
+		// generated by pinto-processor when the tests are compiled
+		final BeanMapping<Company> aMapping = (BeanMapping<Company>) Class.forName(Company.class.getName() + BeanMapping.SUFFIX)
+		                                                                   .newInstance();
+
+		assertEquals(Company.class, aMapping.beanClass());
+		assertEquals(Arrays.asList("name", "website"), aMapping.ids());
+		assertEquals(3, aMapping.properties().size());
+		assertNull(aMapping.accessor("class"));
+
+		final Company aCompany = aMapping.newInstance();
+		aMapping.accessor("website").set(aCompany, "http://clarkparsia.com");
+
+		assertEquals("http://clarkparsia.com", aCompany.getWebsite());
+		assertEquals("http://clarkparsia.com", aMapping.accessor("website").get(aCompany));
+
+		aCompany.setName("Clark & Parsia");
+
+		final RDFMapper aMapper = RDFMapper.create();
+
+		assertEquals(aCompany, aMapper.readValue(aMapper.writeValue(aCompany), Company.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGeneratedMappingGenericSuperclass() throws Exception {
+		// the setter is inherited from a generic superclass, its declared parameter type is the erasure of T
+		final BeanMapping<ClassWithGenericSuperclass> aMapping = (BeanMapping<ClassWithGenericSuperclass>)
+			Class.forName(ClassWithGenericSuperclass.class.getName() + BeanMapping.SUFFIX).newInstance();
+
+		assertEquals(1, aMapping.properties().size());
+		assertEquals("value", aMapping.properties().get(0).getName());
+
+		final ClassWithGenericSuperclass aObj = new ClassWithGenericSuperclass();
+		aObj.setValue("generic");
+
+		final RDFMapper aMapper = RDFMapper.create();
+
+		assertEquals("generic", aMapper.readValue(aMapper.writeValue(aObj), ClassWithGenericSuperclass.class).getValue());
+	}
+
+	@Test
+	public void performanceTestPropertyAccessors() {
+		Company aCompany = new Company("The company");
+		aCompany.setWebsite("http://example.com");
+
+		ClassWithPrimitives aPrimitives = new ClassWithPrimitives();
+		aPrimitives.setString("str value");
+		aPrimitives.setInt(8);
+		aPrimitives.setDouble(20.22);
+		aPrimitives.setChar('o');
+
+		Person aPerson = new Person("Peter");
+
+		RDFMapper aBeanUtils = RDFMapper.builder().accessors(PropertyAccessors.BEANUTILS).build();
+
+		for (PropertyAccessors aAccessors : PropertyAccessors.values()) {
+			RDFMapper aMapper = RDFMapper.builder().accessors(aAccessors).build();
+
+			Model aCompanyGraph = aMapper.writeValue(aCompany);
+			Model aPrimitivesGraph = aMapper.writeValue(aPrimitives);
+			Model aPersonGraph = aMapper.writeValue(aPerson);
+
+			// every kind of accessor must map the beans the same way
+			assertEquals(aBeanUtils.writeValue(aCompany), aCompanyGraph);
+			assertEquals(aBeanUtils.writeValue(aPrimitives), aPrimitivesGraph);
+			assertEquals(aBeanUtils.writeValue(aPerson), aPersonGraph);
+
+			assertEquals(aCompany, aMapper.readValue(aCompanyGraph, Company.class));
+			assertEquals(aPrimitives, aMapper.readValue(aPrimitivesGraph, ClassWithPrimitives.class));
+			assertEquals(aPerson, aMapper.readValue(aPersonGraph, Person.class));
+
+			ArrayList<Long> times = new ArrayList<>();
+
+			for (int j = 0; j < 3; ++j) {
+				long start = System.nanoTime();
+
+				for (int i = 0; i < 10000; ++i) {
+					aMapper.writeValue(aCompany);
+					aMapper.writeValue(aPrimitives);
+					aMapper.writeValue(aPerson);
+
+					aMapper.readValue(aCompanyGraph, Company.class);
+					aMapper.readValue(aPrimitivesGraph, ClassWithPrimitives.class);
+					aMapper.readValue(aPersonGraph, Person.class);
+				}
+
+				long finish = System.nanoTime();
+				times.add(finish - start);
+			}
+
+			System.out.print("Elapsed time round-tripping 10 000 Company, Person & ClassWithPrimitives using " + aAccessors + ": ");
+			long sum = 0;
+			for (Long time : times) {
+				sum += time;
+				System.out.print(time + "ns ");
+			}
+
+			System.out.print("average elapsed time: " + (sum / times.size()) + "ns\n");
+		}
+	}
+
+	@Test
+	public void testDates() throws Exception {
+		final SimpleDateFormat aFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+		for (String aDate : Arrays.asList("2015-03-14T15:24:42.470-04:00", "2015-03-14T15:24:42.470Z",
+		                                  "1999-12-31T23:59:59.999+05:30", "2015-03-14T15:24:42.000-04:00")) {
+			assertEquals(aFormat.parse(aDate), Dates2.asDate(aDate));
+			assertEquals(aFormat.format(aFormat.parse(aDate)), Dates2.datetimeISO(Dates2.asDate(aDate)));
+		}
+
+		assertEquals(new Date(1426361082000L), Dates2.asDate("2015-03-14T15:24:42-04:00"));
+		assertEquals(new Date(1426361082470L), Dates2.asDate("2015-03-14T15:24:42.47-04:00"));
+		assertEquals(new Date(1426361082470L), Dates2.asDate("2015-03-14T15:24:42.470123-04:00"));
+
+		// no time zone is the default time zone
+		assertEquals(Date.from(java.time.LocalDateTime.of(2015, 3, 14, 15, 24, 42, 470_000_000)
+		                                              .atZone(java.time.ZoneId.systemDefault())
+		                                              .toInstant()),
+		             Dates2.asDate("2015-03-14T15:24:42.470"));
+		assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2015-03-14"), Dates2.asDay("2015-03-14"));
+		assertEquals(new Date(1426291200000L), Dates2.asDay("2015-03-14Z"));
+
+		// not the canonical form, left to the lenient parser
+		assertNull(Dates2.parseDateTime("2015-03-14 15:24:42"));
+		assertNull(Dates2.parseDateTime("2015-03-14T15:24:42.-04:00"));
+		assertNull(Dates2.parseDateTime("2015-13-14T15:24:42.470-04:00"));
+		assertNull(Dates2.parseDate("2015-03-14T"));
+	}
+
+	@Test
+	public void performanceTestDates() throws Exception {
+		final List<String> aDates = Lists.newArrayList();
+
+		for (int i = 0; i < 10000; ++i) {
+			aDates.add(Dates2.datetimeISO(new Date(1426361082470L + i * 86_400_123L)));
+		}
+
+		ArrayList<Long> aSimpleTimes = new ArrayList<>();
+		ArrayList<Long> aTimes = new ArrayList<>();
+
+		for (int j = 0; j < 3; ++j) {
+			long start = System.nanoTime();
+
+			for (String aDate : aDates) {
+				final SimpleDateFormat aFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+				new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").format(aFormat.parse(aDate));
+			}
+
+			aSimpleTimes.add(System.nanoTime() - start);
+
+			start = System.nanoTime();
+
+			for (String aDate : aDates) {
+				Dates2.datetimeISO(Dates2.asDate(aDate));
+			}
+
+			aTimes.add(System.nanoTime() - start);
+		}
+
+		System.out.println("Elapsed time round-tripping 10 000 dates using SimpleDateFormat: " + aSimpleTimes + "ns");
+		System.out.println("Elapsed time round-tripping 10 000 dates using Dates2: " + aTimes + "ns");
+	}
+
+	@Test
+	public void testIdHash() throws Exception {
+		final Company aCompany = new Company("Clark & Parsia");
+		aCompany.setWebsite("http://clarkparsia.com");
+
+		final Resource aDefault = RDFMapper.create().writeValue(aCompany, Models2.newModel());
+
+		final Resource aMurmur = RDFMapper.builder()
+		                                  .set(MappingOptions.ID_HASH, Hashing.murmur3_128())
+		                                  .build()
+		                                  .writeValue(aCompany, Models2.newModel());
+
+		// @RdfId values are hashed in the order of the property names
+		assertEquals(RDFMapper.DEFAULT_NAMESPACE + Hashing.md5().newHasher()
+		                                                  .putString("Clark & Parsia", Charsets.UTF_8)
+		                                                  .putString("http://clarkparsia.com", Charsets.UTF_8)
+		                                                  .hash(),
+		             aDefault.stringValue());
+
+		assertEquals(RDFMapper.DEFAULT_NAMESPACE + Hashing.murmur3_128().newHasher()
+		                                                  .putString("Clark & Parsia", Charsets.UTF_8)
+		                                                  .putString("http://clarkparsia.com", Charsets.UTF_8)
+		                                                  .hash(),
+		             aMurmur.stringValue());
+	}
+
+	@Test
+	public void performanceTestIds() {
+		final List<Company> aCompanies = Lists.newArrayList();
+
+		for (int i = 0; i < 10000; ++i) {
+			final Company aCompany = new Company("Company " + i);
+			aCompany.setWebsite("http://example.com/" + i);
+			aCompanies.add(aCompany);
+		}
+
+		for (HashFunction aHash : Arrays.asList(Hashing.md5(), Hashing.murmur3_128())) {
+			final RDFMapper aMapper = RDFMapper.builder().set(MappingOptions.ID_HASH, aHash).build();
+
+			ArrayList<Long> times = new ArrayList<>();
+
+			for (int j = 0; j < 3; ++j) {
+				long start = System.nanoTime();
+
+				aMapper.writeAll(aCompanies, Models2.newModel());
+
+				times.add(System.nanoTime() - start);
+			}
+
+			System.out.println("Elapsed time writing 10 000 Companies with " + aHash + " ids: " + times + "ns");
+		}
+	}
+
+	@Test
+	public void testIdStrategies() throws Exception {
+		final ClassWithPrimitives aObj = new ClassWithPrimitives();
+		aObj.setString("str value");
+		aObj.setInt(8);
+
+		final ClassWithPrimitives aEqual = new ClassWithPrimitives();
+		aEqual.setString("str value");
+		aEqual.setInt(8);
+
+		final ClassWithPrimitives aOther = new ClassWithPrimitives();
+		aOther.setString("other value");
+		aOther.setInt(8);
+
+		final RDFMapper aStructural = RDFMapper.builder().idStrategy(IdStrategies.structuralHash()).build();
+
+		final Resource aId = aStructural.writeValue(aObj, Models2.newModel());
+
+		assertTrue(aId.stringValue().startsWith(RDFMapper.DEFAULT_NAMESPACE));
+		assertEquals(aId, aStructural.writeValue(aEqual, Models2.newModel()));
+		assertFalse(aId.equals(aStructural.writeValue(aOther, Models2.newModel())));
+
+		final RDFMapper aBlank = RDFMapper.builder().idStrategy(IdStrategies.blankNodes()).build();
+
+		assertTrue(aBlank.writeValue(new ClassWithPrimitives(), Models2.newModel()) instanceof BNode);
+
+		final RDFMapper aSequence = RDFMapper.builder().idStrategy(IdStrategies.sequence()).build();
+
+		assertEquals(RDFMapper.DEFAULT_NAMESPACE + "_seq:1", aSequence.writeValue(new ClassWithPrimitives(), Models2.newModel()).stringValue());
+		assertEquals(RDFMapper.DEFAULT_NAMESPACE + "_seq:2", aSequence.writeValue(new ClassWithPrimitives(), Models2.newModel()).stringValue());
+
+		final RDFMapper aUUIDs = RDFMapper.builder().idStrategy(IdStrategies.randomUUIDs()).build();
+
+		final Resource aUUID = aUUIDs.writeValue(new ClassWithPrimitives(), Models2.newModel());
+
+		assertTrue(aUUID.stringValue().startsWith("urn:uuid:"));
+		assertEquals(4, UUID.fromString(aUUID.stringValue().substring("urn:uuid:".length())).version());
+		assertFalse(aUUID.equals(aUUIDs.writeValue(new ClassWithPrimitives(), Models2.newModel())));
+
+		// an object with an id of its own does not use the strategy
+		final Company aCompany = new Company("Clark & Parsia");
+
+		assertEquals(RDFMapper.create().writeValue(aCompany, Models2.newModel()),
+		             aBlank.writeValue(aCompany, Models2.newModel()));
+	}
+
+	@Test
+	public void testStructuralHashMappedProperties() throws Exception {
+		// the name has an invalid property annotation so it is not mapped, the two are written as the same RDF
+		final BadCompany aCompany = new BadCompany();
+		aCompany.setName("Clark & Parsia");
+		aCompany.setWebsite("http://clarkparsia.com");
+		aCompany.setNumberOfEmployees(10);
+
+		final BadCompany aRenamed = new BadCompany();
+		aRenamed.setName("Complexible");
+		aRenamed.setWebsite("http://clarkparsia.com");
+		aRenamed.setNumberOfEmployees(10);
+
+		final BadCompany aOther = new BadCompany();
+		aOther.setName("Clark & Parsia");
+		aOther.setWebsite("http://complexible.com");
+		aOther.setNumberOfEmployees(10);
+
+		for (PropertyAccessors aAccessors : PropertyAccessors.values()) {
+			final RDFMapper aMapper = RDFMapper.builder()
+			                                   .accessors(aAccessors)
+			                                   .idStrategy(IdStrategies.structuralHash())
+			                                   .build();
+
+			final Resource aId = aMapper.writeValue(aCompany, Models2.newModel());
+
+			assertEquals(aId, aMapper.writeValue(aRenamed, Models2.newModel()));
+			assertFalse(aId.equals(aMapper.writeValue(aOther, Models2.newModel())));
+		}
+	}
+
+	@Test
+	public void testStructuralHashCycle() throws Exception {
+		final ClassWithLink aFirst = new ClassWithLink("first");
+		final ClassWithLink aSecond = new ClassWithLink("second");
 
-		aExpected.mMap = Maps.newLinkedHashMap();
+		aFirst.setLink(aSecond);
+		aSecond.setLink(aFirst);
 
-		aExpected.mMap.put("bob", new Person("Bob the tester"));
-		aExpected.mMap.put(1L, "the size of something");
-		aExpected.mMap.put(new Date(1426361082470L), 57.4);
-		aExpected.mMap.put(new Person("another person"), new Company("The company"));
+		final RDFMapper aMapper = RDFMapper.builder().idStrategy(IdStrategies.structuralHash()).build();
 
-		final Model aGraph = ModelIO.read(Files3.classPath("/data/map.nt").toPath());
+		final Model aGraph = aMapper.writeValue(aFirst);
 
-		assertEquals(aExpected, RDFMapper.builder()
-				.map(FOAF.ontology().Person, Person.class)
-				.map(SimpleValueFactory.getInstance().createIRI("urn:Company"), Company.class)
-				.build()
-				.readValue(aGraph, ClassWithMap.class,
-						SimpleValueFactory.getInstance().createIRI("tag:complexible:pinto:06f95e70fea33fcd99e6804b02f96cc9")));
+		assertEquals(4, aGraph.size());
+		assertEquals(2, aGraph.subjects().size());
 	}
 
 	@Test
@@ -929,9 +2163,7 @@ public class RDFMapperTests {
 
 	//Újak
 
-	//TODO
 	@Test
-	@Ignore("This test is failing it needs to be looked into.")
 	public void testWriteEnumSetValidIRI() {
 		ClassWithEnumSet cwes = new ClassWithEnumSet();
 
@@ -942,9 +2174,7 @@ public class RDFMapperTests {
 		assertFalse(m.isEmpty());
 	}
 
-	//TODO
 	@Test
-	@Ignore("This test is failing it needs to be looked into.")
 	public void testWriteEnumSetInvalidIRI() {
 
 		ClassWithEnumSet cwes = new ClassWithEnumSet();
@@ -956,9 +2186,7 @@ public class RDFMapperTests {
 		Model m = RDFMapper.create().writeValue(cwes);
 	}
 
-	//TODO
 	@Test
-	@Ignore("This test is failing it needs to be looked into.")
 	public void testWriteEnumSetNoIRI() {
 		ClassWithEnumSet cwes = new ClassWithEnumSet();
 
@@ -969,9 +2197,7 @@ public class RDFMapperTests {
 		assertFalse(m.isEmpty());
 	}
 
-	//TODO
 	@Test
-	@Ignore("This test is failing it needs to be looked into.")
 	public void testWriteEnumSetMixed() {
 		ClassWithEnumSet cwes = new ClassWithEnumSet();
 
@@ -985,6 +2211,22 @@ public class RDFMapperTests {
 		assertFalse(m.isEmpty());
 	}
 
+	@Test
+	public void testReadEnumSet() throws Exception {
+		ClassWithEnumSet cwes = new ClassWithEnumSet();
+
+		cwes.setEnums(EnumSet.of(TestEnum.Bar, TestEnum.Baz));
+
+		final RDFMapper aMapper = RDFMapper.create();
+		final Model aGraph = Models2.newModel();
+		final Resource aId = aMapper.writeValue(cwes, aGraph);
+
+		assertTrue(aGraph.contains(null, null, SimpleValueFactory.getInstance().createIRI("urn:TestEnum:Bar")));
+		assertTrue(aGraph.contains(null, null, SimpleValueFactory.getInstance().createIRI(RDFMapper.DEFAULT_NAMESPACE, "Baz")));
+
+		assertEquals(cwes, aMapper.readValue(aGraph, ClassWithEnumSet.class, aId));
+	}
+
 	@Test
 	public void testMultipleSubjectsWithIdProvided() throws Exception {
 		ClassWithObjectList cwls = RDFMapper.create().readValue(ModelIO.read(Files3.classPath("/data/object_lists.nt").toPath()), ClassWithObjectList.class,
@@ -1933,8 +3175,377 @@ public class RDFMapperTests {
 				}
 			}
 		}
+
+		public static final class ClassWithAttributes {
+			private String mName;
+
+			private Map<String, Integer> mAttributes;
+
+			@RdfId
+			public String getName() {
+				return mName;
+			}
+
+			public void setName(final String theName) {
+				mName = theName;
+			}
+
+			public Map<String, Integer> getAttributes() {
+				return mAttributes;
+			}
+
+			public void setAttributes(final Map<String, Integer> theAttributes) {
+				mAttributes = theAttributes;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(mName, mAttributes);
+			}
+
+			@Override
+			public boolean equals(final Object theObj) {
+				if (theObj == this) {
+					return true;
+				} else if (theObj instanceof ClassWithAttributes) {
+					return Objects.equals(mName, ((ClassWithAttributes) theObj).mName)
+					       && Objects.equals(mAttributes, ((ClassWithAttributes) theObj).mAttributes);
+				} else {
+					return false;
+				}
+			}
+		}
+
+		public static final class ClassWithReference {
+			private String mName;
+
+			private ClassWithReference mReference;
+
+			public ClassWithReference() {
+			}
+
+			public ClassWithReference(final String theName) {
+				mName = theName;
+			}
+
+			@RdfId
+			public String getName() {
+				return mName;
+			}
+
+			public void setName(final String theName) {
+				mName = theName;
+			}
+
+			public ClassWithReference getReference() {
+				return mReference;
+			}
+
+			public void setReference(final ClassWithReference theReference) {
+				mReference = theReference;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hashCode(mName);
+			}
+
+			@Override
+			public boolean equals(final Object theObj) {
+				if (theObj == this) {
+					return true;
+				} else if (theObj instanceof ClassWithReference) {
+					// compare the references by name, they may be cyclic
+					ClassWithReference aObj = (ClassWithReference) theObj;
+					return Objects.equals(mName, aObj.mName)
+					       && Objects.equals(mReference == null ? null : mReference.mName,
+					                         aObj.mReference == null ? null : aObj.mReference.mName);
+				} else {
+					return false;
+				}
+			}
+		}
+
+		public static class ClassWithGenerics {
+			public static class Names extends ArrayList<String> {
+			}
+
+			public static class Registry<T> extends HashMap<String, T> {
+			}
+
+			private List<? extends Number> mNumbers;
+
+			private Collection<? super Integer> mIntegers;
+
+			private Map<String, List<Person>> mPeople;
+
+			private Names mNames;
+
+			private Registry<Company> mCompanies;
+
+			private List<List<String>[]> mGroups;
+
+			public List<List<String>[]> getGroups() {
+				return mGroups;
+			}
+
+			public void setGroups(final List<List<String>[]> theGroups) {
+				mGroups = theGroups;
+			}
+
+			public List<? extends Number> getNumbers() {
+				return mNumbers;
+			}
+
+			public void setNumbers(final List<? extends Number> theNumbers) {
+				mNumbers = theNumbers;
+			}
+
+			public Collection<? super Integer> getIntegers() {
+				return mIntegers;
+			}
+
+			public void setIntegers(final Collection<? super Integer> theIntegers) {
+				mIntegers = theIntegers;
+			}
+
+			public Map<String, List<Person>> getPeople() {
+				return mPeople;
+			}
+
+			public void setPeople(final Map<String, List<Person>> thePeople) {
+				mPeople = thePeople;
+			}
+
+			public Names getNames() {
+				return mNames;
+			}
+
+			public void setNames(final Names theNames) {
+				mNames = theNames;
+			}
+
+			public Registry<Company> getCompanies() {
+				return mCompanies;
+			}
+
+			public void setCompanies(final Registry<Company> theCompanies) {
+				mCompanies = theCompanies;
+			}
+		}
+
+		public static final class ClassWithLink {
+			private String mName;
+
+			private ClassWithLink mLink;
+
+			public ClassWithLink() {
+			}
+
+			public ClassWithLink(final String theName) {
+				mName = theName;
+			}
+
+			public String getName() {
+				return mName;
+			}
+
+			public void setName(final String theName) {
+				mName = theName;
+			}
+
+			public ClassWithLink getLink() {
+				return mLink;
+			}
+
+			public void setLink(final ClassWithLink theLink) {
+				mLink = theLink;
+			}
+		}
+
+		public static final class ClassWithCodecValues {
+			private UUID mUUID;
+
+			private List<UUID> mUUIDs;
+
+			private java.math.BigDecimal mPrice;
+
+			public UUID getUUID() {
+				return mUUID;
+			}
+
+			public void setUUID(final UUID theUUID) {
+				mUUID = theUUID;
+			}
+
+			public List<UUID> getUUIDs() {
+				return mUUIDs;
+			}
+
+			public void setUUIDs(final List<UUID> theUUIDs) {
+				mUUIDs = theUUIDs;
+			}
+
+			public java.math.BigDecimal getPrice() {
+				return mPrice;
+			}
+
+			public void setPrice(final java.math.BigDecimal thePrice) {
+				mPrice = thePrice;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(mUUID, mUUIDs, mPrice);
+			}
+
+			@Override
+			public boolean equals(final Object theObj) {
+				if (theObj == this) {
+					return true;
+				}
+				else if (theObj instanceof ClassWithCodecValues) {
+					final ClassWithCodecValues aObj = (ClassWithCodecValues) theObj;
+
+					return Objects.equals(mUUID, aObj.mUUID)
+					       && Objects.equals(Sets.newHashSet(mUUIDs), Sets.newHashSet(aObj.mUUIDs))
+					       && Objects.equals(mPrice, aObj.mPrice);
+				}
+				else {
+					return false;
+				}
+			}
+		}
+
+		public static final class ClassWithPackedValues {
+			private int[] mInts;
+
+			private long[] mLongs;
+
+			private short[] mShorts;
+
+			private double[] mDoubles;
+
+			private float[] mFloats;
+
+			private byte[] mBytes;
+
+			private List<Integer> mReadings;
+
+			private List<Double> mTemperatures;
+
+			public int[] getInts() {
+				return mInts;
+			}
+
+			public void setInts(final int[] theInts) {
+				mInts = theInts;
+			}
+
+			public long[] getLongs() {
+				return mLongs;
+			}
+
+			public void setLongs(final long[] theLongs) {
+				mLongs = theLongs;
+			}
+
+			public short[] getShorts() {
+				return mShorts;
+			}
+
+			public void setShorts(final short[] theShorts) {
+				mShorts = theShorts;
+			}
+
+			public double[] getDoubles() {
+				return mDoubles;
+			}
+
+			public void setDoubles(final double[] theDoubles) {
+				mDoubles = theDoubles;
+			}
+
+			public float[] getFloats() {
+				return mFloats;
+			}
+
+			public void setFloats(final float[] theFloats) {
+				mFloats = theFloats;
+			}
+
+			public byte[] getBytes() {
+				return mBytes;
+			}
+
+			public void setBytes(final byte[] theBytes) {
+				mBytes = theBytes;
+			}
+
+			public List<Integer> getReadings() {
+				return mReadings;
+			}
+
+			public void setReadings(final List<Integer> theReadings) {
+				mReadings = theReadings;
+			}
+
+			@RdfProperty(packed = true)
+			public List<Double> getTemperatures() {
+				return mTemperatures;
+			}
+
+			public void setTemperatures(final List<Double> theTemperatures) {
+				mTemperatures = theTemperatures;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(Arrays.hashCode(mInts), Arrays.hashCode(mLongs), Arrays.hashCode(mBytes), mReadings);
+			}
+
+			@Override
+			public boolean equals(final Object theObj) {
+				if (theObj == this) {
+					return true;
+				}
+				else if (theObj instanceof ClassWithPackedValues) {
+					final ClassWithPackedValues aObj = (ClassWithPackedValues) theObj;
+
+					return Arrays.equals(mInts, aObj.mInts)
+					       && Arrays.equals(mLongs, aObj.mLongs)
+					       && Arrays.equals(mShorts, aObj.mShorts)
+					       && Arrays.equals(mDoubles, aObj.mDoubles)
+					       && Arrays.equals(mFloats, aObj.mFloats)
+					       && Arrays.equals(mBytes, aObj.mBytes)
+					       && Objects.equals(mReadings == null ? null : Sets.newHashSet(mReadings),
+					                         aObj.mReadings == null ? null : Sets.newHashSet(aObj.mReadings))
+					       && Objects.equals(mTemperatures, aObj.mTemperatures);
+				}
+				else {
+					return false;
+				}
+			}
+		}
+
+		public static class GenericBase<T> {
+			private T mValue;
+
+			public T getValue() {
+				return mValue;
+			}
+
+			public void setValue(final T theValue) {
+				mValue = theValue;
+			}
+		}
+
+		@RdfsClass("urn:ClassWithGenericSuperclass")
+		public static class ClassWithGenericSuperclass extends GenericBase<String> {
+		}
 	}
 
 
 
 
+